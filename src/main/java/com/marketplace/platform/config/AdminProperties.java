@@ -0,0 +1,14 @@
+package com.marketplace.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.admin")
+public class AdminProperties {
+    private String username = "admin";
+    // Admin endpoints reject every call while no password is configured
+    private String password = "";
+}
@@ -0,0 +1,20 @@
+package com.marketplace.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    // INACTIVE users untouched for this long are moved to the archive tables
+    private Duration retention = Duration.ofDays(90);
+    private int batchSize = 500;
+    private long batchPauseMs = 200L;
+    private int maxBatchesPerRun = 100;
+    private long intervalMs = 3600000L;
+}
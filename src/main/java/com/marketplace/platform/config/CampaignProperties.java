@@ -0,0 +1,16 @@
+package com.marketplace.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.campaigns")
+public class CampaignProperties {
+    private int chunkSize = 200;
+    private int renderThreads = 4;
+    // Shared by all campaigns so bulk mail never exceeds the SMTP provider's quota
+    private double sendRatePerSecond = 10.0;
+    private int sendBurst = 20;
+}
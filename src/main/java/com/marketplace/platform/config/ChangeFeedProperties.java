@@ -0,0 +1,26 @@
+package com.marketplace.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.change-feed")
+public class ChangeFeedProperties {
+    // Must be off with app.sharding.enabled: the log would be written per shard but read from one
+    private boolean enabled = true;
+    // A gap in seq holds readers back until the entry after it is this old; longer than any user transaction
+    private Duration gapTimeout = Duration.ofSeconds(30);
+    private int maxBatchSize = 500;
+    private long pollIntervalMs = 1000L;
+    // Threads writing to SSE streams; a stalled client blocks one of them until its write times out
+    private int pushThreads = 4;
+    private Duration streamTimeout = Duration.ofMinutes(30);
+    private Duration retention = Duration.ofDays(7);
+    private Duration compactAfter = Duration.ofDays(1);
+    private int deleteChunkSize = 1000;
+    private long maintenanceIntervalMs = 3600000L;
+}
@@ -2,6 +2,7 @@ package com.marketplace.platform.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +13,7 @@ import javax.net.ssl.X509TrustManager;
 import java.security.cert.X509Certificate;
 import java.util.Properties;
 
+@Lazy
 @Configuration
 public class EmailConfig {
 
@@ -59,6 +61,10 @@ public class EmailConfig {
             props.put("mail.debug", "true");
             props.put("mail.smtp.ssl.trust", "*");
             props.put("mail.smtp.ssl.protocols", "TLSv1.2");
+            // Bounded socket waits so a stalled server fails sends and the readiness probe
+            props.put("mail.smtp.connectiontimeout", "10000");
+            props.put("mail.smtp.timeout", "10000");
+            props.put("mail.smtp.writetimeout", "10000");
 
             // Set SSL socket factory
             props.put("mail.smtp.ssl.socketFactory", sc.getSocketFactory());
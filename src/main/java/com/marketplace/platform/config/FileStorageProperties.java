@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "app.file-storage")
@@ -11,4 +13,10 @@ public class FileStorageProperties {
     private String uploadDir = "uploads";
     private long maxFileSize = 5242880L; // 5MB default
     private String[] allowedExtensions = {".jpg", ".jpeg", ".png", ".gif"};
+    private int uploadChunkSize = 262144; // 256KB default
+    private Duration uploadSessionTtl = Duration.ofMinutes(30);
+    private long uploadCleanupIntervalMs = 60000L;
+    // Every open upload session holds a file handle
+    private int maxUploadSessions = 200;
+    private int maxUploadSessionsPerUser = 3;
 }
\ No newline at end of file
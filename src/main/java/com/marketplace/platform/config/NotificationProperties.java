@@ -0,0 +1,19 @@
+package com.marketplace.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.notifications")
+public class NotificationProperties {
+    // Status and password notifications for the same user within this window are sent as one
+    private Duration coalesceWindow = Duration.ofSeconds(60);
+    private Duration wheelTick = Duration.ofSeconds(1);
+    private int wheelSize = 512;
+    // A notification whose email keeps failing is retried once per window, this many times in total
+    private int maxSendAttempts = 5;
+}
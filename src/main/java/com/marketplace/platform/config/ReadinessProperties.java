@@ -0,0 +1,28 @@
+package com.marketplace.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.readiness")
+public class ReadinessProperties {
+    private long probeIntervalMs = 5000L;
+    // A snapshot older than this is reported as DOWN (the probe thread is stuck)
+    private Duration staleAfter = Duration.ofSeconds(30);
+    private int databaseTimeoutSeconds = 2;
+    // Pool is saturated when active/max reaches this and requests are queueing
+    private double poolSaturationThreshold = 0.9;
+    private DataSize minFreeDisk = DataSize.ofMegabytes(500);
+    // Share of the event ring buffer in use before publishers are about to block
+    private double maxEventBacklog = 0.8;
+    private long maxPendingNotifications = 10000L;
+    private boolean smtpEnabled = true;
+    private long smtpProbeIntervalMs = 60000L;
+    // A failing mail server only degrades readiness unless this is set
+    private boolean smtpRequired = false;
+}
@@ -0,0 +1,45 @@
+package com.marketplace.platform.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records how long after JVM start the first request completed. Spring Boot
+ * already publishes application.started.time and application.ready.time; this
+ * adds the number autoscaling actually waits for.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimingListener implements SmartInitializingSingleton {
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    // Runs just before lifecycle start, so it is also logged by the fast-startup build's exit-on-refresh runs
+    @Override
+    public void afterSingletonsInstantiated() {
+        log.info("Beans initialized {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestSeen.get() || !firstRequestSeen.compareAndSet(false, true)) {
+            return;
+        }
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        TimeGauge.builder("application.first.request.time", () -> uptimeMillis, TimeUnit.MILLISECONDS)
+                .description("Time from JVM start until the first request completed")
+                .register(meterRegistry);
+        log.info("First request completed {} ms after JVM start", uptimeMillis);
+    }
+}
@@ -0,0 +1,17 @@
+package com.marketplace.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.user-index")
+public class UserIndexProperties {
+    // Longer names only matter up to this many characters for type-ahead
+    private int maxTermLength = 32;
+    // Pending additions/removals merged into the sorted snapshot past this size
+    private int compactThreshold = 10000;
+    private int buildChunkSize = 5000;
+    private int maxResults = 50;
+}
@@ -0,0 +1,94 @@
+package com.marketplace.platform.config.async;
+
+import com.marketplace.platform.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool for one kind of blocking work. A full queue rejects new calls
+ * right away, and a call that outlives its timeout fails with 503 instead of
+ * holding the request. Work still queued at that point is skipped, and running
+ * work is cancelled at its next commit point (see {@link BulkheadTask}), so a
+ * 503 always means nothing was applied and a retry is safe.
+ */
+public class Bulkhead {
+    private final String name;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    Bulkhead(String name, BulkheadProperties.Pool pool, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeoutMillis = pool.getTimeout().toMillis();
+        this.meterRegistry = meterRegistry;
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pool.getThreads());
+        executor.setMaxPoolSize(pool.getThreads());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setThreadNamePrefix("bulkhead-" + name + "-");
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.initialize();
+
+        Gauge.builder("bulkhead.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        BulkheadTask state = new BulkheadTask();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (!state.start()) {
+                    count("expired");
+                    return;
+                }
+                BulkheadTask previous = BulkheadTask.bind(state);
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    state.finish();
+                    BulkheadTask.bind(previous);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            count("rejected");
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("Too many concurrent " + name + " requests, retry later"));
+        }
+        CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (state.cancel()) {
+                count("timeout");
+                result.completeExceptionally(new ServiceUnavailableException("Timed out waiting for " + name + " work"));
+            }
+        });
+        return result;
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("bulkhead.calls.failed", "bulkhead", name, "outcome", outcome).increment();
+    }
+}
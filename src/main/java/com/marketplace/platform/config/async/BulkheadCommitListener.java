@@ -0,0 +1,19 @@
+package com.marketplace.platform.config.async;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Rolls back transactions of bulkhead calls that already timed out. Spring Boot
+ * registers it with the auto-configured transaction manager, and an exception
+ * from beforeCommit turns the commit into a rollback.
+ */
+@Component
+public class BulkheadCommitListener implements TransactionExecutionListener {
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        BulkheadTask.commitPoint();
+    }
+}
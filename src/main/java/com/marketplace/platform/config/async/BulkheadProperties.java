@@ -0,0 +1,36 @@
+package com.marketplace.platform.config.async;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.bulkheads")
+public class BulkheadProperties {
+    // Password hashing
+    private Pool cpu = new Pool(Runtime.getRuntime().availableProcessors(), 100, Duration.ofSeconds(10));
+    // File storage
+    private Pool disk = new Pool(4, 50, Duration.ofSeconds(30));
+    // Mail delivery
+    private Pool network = new Pool(8, 200, Duration.ofSeconds(20));
+
+    @Data
+    @NoArgsConstructor
+    public static class Pool {
+        private int threads;
+        // Calls beyond threads + queueCapacity are rejected with 503
+        private int queueCapacity;
+        // Covers queueing and execution; expired work is dropped or rolled back at its next commit
+        private Duration timeout;
+
+        Pool(int threads, int queueCapacity, Duration timeout) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.marketplace.platform.config.async;
+
+import com.marketplace.platform.exception.ServiceUnavailableException;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of one bulkhead call, bound to its worker thread while it runs. A call
+ * that times out is cancelled cooperatively: its next commit point (a
+ * transaction commit, or an explicit call before irreversible work such as
+ * sending mail) throws, so nothing it did is kept. Once a call has passed a
+ * commit point the timeout no longer cancels it and the caller waits for the
+ * real result.
+ */
+public final class BulkheadTask {
+    private static final ThreadLocal<BulkheadTask> CURRENT = new ThreadLocal<>();
+
+    private enum State { PENDING, RUNNING, COMMITTING, DONE, CANCELLED }
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+
+    public static void commitPoint() {
+        BulkheadTask task = CURRENT.get();
+        if (task != null && !task.state.compareAndSet(State.RUNNING, State.COMMITTING)
+                && task.state.get() == State.CANCELLED) {
+            throw new ServiceUnavailableException("Timed out before the change was applied, retry later");
+        }
+    }
+
+    // Returns the previously bound task so callers can restore it
+    static BulkheadTask bind(BulkheadTask task) {
+        BulkheadTask previous = CURRENT.get();
+        if (task != null) {
+            CURRENT.set(task);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    boolean start() {
+        return state.compareAndSet(State.PENDING, State.RUNNING);
+    }
+
+    void finish() {
+        if (!state.compareAndSet(State.RUNNING, State.DONE)) {
+            state.compareAndSet(State.COMMITTING, State.DONE);
+        }
+    }
+
+    boolean cancel() {
+        return state.compareAndSet(State.PENDING, State.CANCELLED)
+                || state.compareAndSet(State.RUNNING, State.CANCELLED);
+    }
+}
@@ -0,0 +1,42 @@
+package com.marketplace.platform.config.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Separate pools for the slow parts of the user endpoints, so a stalled mail
+ * server or disk only exhausts its own threads and never the Tomcat workers
+ * serving reads.
+ */
+@Component
+public class Bulkheads {
+    private final Bulkhead cpu;
+    private final Bulkhead disk;
+    private final Bulkhead network;
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.cpu = new Bulkhead("cpu", properties.getCpu(), meterRegistry);
+        this.disk = new Bulkhead("disk", properties.getDisk(), meterRegistry);
+        this.network = new Bulkhead("network", properties.getNetwork(), meterRegistry);
+    }
+
+    public Bulkhead cpu() {
+        return cpu;
+    }
+
+    public Bulkhead disk() {
+        return disk;
+    }
+
+    public Bulkhead network() {
+        return network;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cpu.shutdown();
+        disk.shutdown();
+        network.shutdown();
+    }
+}
@@ -0,0 +1,36 @@
+package com.marketplace.platform.config.async;
+
+import com.marketplace.platform.config.shard.ShardContext;
+import com.marketplace.platform.config.sql.SqlStats;
+import com.marketplace.platform.config.sql.SqlStatsContext;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Carries the submitting request's thread-bound state (SQL statistics, bound
+ * shard, security context) over to the worker thread and restores the worker's
+ * own state afterwards.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        SqlStats stats = SqlStatsContext.current();
+        Integer shard = ShardContext.current();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            SqlStats previousStats = SqlStatsContext.bind(stats);
+            Integer previousShard = ShardContext.bind(shard);
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                runnable.run();
+            } finally {
+                SecurityContextHolder.setContext(previousSecurityContext);
+                ShardContext.bind(previousShard);
+                SqlStatsContext.bind(previousStats);
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.marketplace.platform.config.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * CBOR (application/cbor) and Smile (application/x-jackson-smile) for internal
+ * callers, picked through the Accept and Content-Type headers. They go after
+ * the JSON converter so that JSON stays the default. The mappers come from
+ * Boot's builder, so they share the JSON mapper's modules and date handling.
+ */
+@Configuration
+public class BinaryCodecConfig implements WebMvcConfigurer {
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+    private final BinaryCodecProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public BinaryCodecConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders,
+                             BinaryCodecProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.builders = builders;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replaces the defaults Spring registers when the formats are on the classpath
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+        ObjectMapper cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builders.getObject().factory(new SmileFactory()).build();
+        int position = 0;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                position = i + 1;
+            }
+        }
+        converters.addAll(position, List.of(
+                new CachingUserResponseConverter(cborMapper, smileMapper, properties.getMaxCachedUsers(), meterRegistry),
+                new MappingJackson2CborHttpMessageConverter(cborMapper),
+                new MappingJackson2SmileHttpMessageConverter(smileMapper)));
+    }
+}
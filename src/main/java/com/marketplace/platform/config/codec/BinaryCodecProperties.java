@@ -0,0 +1,13 @@
+package com.marketplace.platform.config.codec;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.binary-codecs")
+public class BinaryCodecProperties {
+    // Users whose encoded UserResponse is kept, per format
+    private int maxCachedUsers = 10_000;
+}
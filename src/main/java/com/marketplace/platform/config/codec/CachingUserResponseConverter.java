@@ -0,0 +1,118 @@
+package com.marketplace.platform.config.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.marketplace.platform.dto.response.UserResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writes a single {@link UserResponse} as CBOR or Smile. The writers resolve
+ * their serializer once up front, and the encoded bytes are kept per user and
+ * reused while the user's version is unchanged; any write to a user bumps the
+ * version. A newer version replaces the older entry; when the cache is full an
+ * arbitrary entry makes room.
+ */
+public class CachingUserResponseConverter extends AbstractHttpMessageConverter<UserResponse> {
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectWriter cborWriter;
+    private final ObjectWriter smileWriter;
+    private final int maxCachedUsers;
+    private final ConcurrentMap<CacheKey, Encoded> cache = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingUserResponseConverter(ObjectMapper cborMapper, ObjectMapper smileMapper,
+                                        int maxCachedUsers, MeterRegistry meterRegistry) {
+        super(MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+        this.cborWriter = cborMapper.writerFor(UserResponse.class);
+        this.smileWriter = smileMapper.writerFor(UserResponse.class);
+        this.maxCachedUsers = maxCachedUsers;
+        this.hits = Counter.builder("http.codec.user.cache")
+                .description("Encoded user responses served from or added to the cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("http.codec.user.cache")
+                .description("Encoded user responses served from or added to the cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserResponse.class == clazz;
+    }
+
+    // Only ever used for responses
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected UserResponse readInternal(Class<? extends UserResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("UserResponse is not read from requests", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(UserResponse user, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(encode(user, outputMessage.getHeaders().getContentType()));
+    }
+
+    private byte[] encode(UserResponse user, MediaType contentType) {
+        boolean smile = contentType != null && APPLICATION_SMILE.isCompatibleWith(contentType);
+        ObjectWriter writer = smile ? smileWriter : cborWriter;
+        if (user.getUserId() == null) {
+            return serialize(writer, user);
+        }
+
+        CacheKey key = new CacheKey(user.getUserId(), smile);
+        Encoded encoded = cache.get(key);
+        if (encoded != null && encoded.version() == user.getVersion() && encoded.archived() == user.isArchived()) {
+            hits.increment();
+            return encoded.bytes();
+        }
+        misses.increment();
+        byte[] bytes = serialize(writer, user);
+        if (encoded == null && cache.size() >= maxCachedUsers) {
+            evictOne();
+        }
+        cache.put(key, new Encoded(user.getVersion(), user.isArchived(), bytes));
+        return bytes;
+    }
+
+    private void evictOne() {
+        Iterator<CacheKey> keys = cache.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static byte[] serialize(ObjectWriter writer, UserResponse user) {
+        try {
+            return writer.writeValueAsBytes(user);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not encode user " + user.getUserId(), e);
+        }
+    }
+
+    private record CacheKey(Long userId, boolean smile) {
+    }
+
+    private record Encoded(long version, boolean archived, byte[] bytes) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.marketplace.platform.config.datasource;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which keys (user ids, emails) were written recently so that reads
+ * of the same key stay on the primary until replicas have caught up.
+ */
+@Component
+public class ReadYourWritesTracker {
+    private static final int CLEANUP_THRESHOLD = 10_000;
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final Map<Object, Long> recentWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(ReplicaDataSourceProperties properties) {
+        this.windowNanos = properties.getReadYourWritesWindow().toNanos();
+    }
+
+    public static boolean isPrimaryPinned() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    public void recordWrite(Object key) {
+        if (key == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        recentWrites.put(key, now + windowNanos);
+        if (recentWrites.size() > CLEANUP_THRESHOLD) {
+            recentWrites.values().removeIf(expiry -> expiry - now < 0);
+        }
+    }
+
+    public boolean isRecentlyWritten(Object key) {
+        if (key == null) {
+            return false;
+        }
+        Long expiry = recentWrites.get(key);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry - System.nanoTime() < 0) {
+            recentWrites.remove(key, expiry);
+            return false;
+        }
+        return true;
+    }
+
+    // Runs the read against the primary when the key was written within the window
+    public <T> T readAfterWrite(Object key, Supplier<T> read) {
+        return isRecentlyWritten(key) ? onPrimary(read) : read.get();
+    }
+
+    public <T> T onPrimary(Supplier<T> read) {
+        if (isPrimaryPinned()) {
+            return read.get();
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_PINNED.remove();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.marketplace.platform.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Round-robins read-only connections over the healthy replicas, falling back to
+ * the primary when none are healthy or the current thread is pinned to it.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY_KEY = "primary";
+
+    private final List<DataSource> replicas;
+    private final AtomicIntegerArray healthy;
+    private final AtomicInteger counter = new AtomicInteger();
+    private final int healthCheckTimeoutSeconds;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, int healthCheckTimeoutSeconds) {
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new AtomicIntegerArray(replicas.size());
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY_KEY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+            healthy.set(i, 1);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReadYourWritesTracker.isPrimaryPinned()) {
+            return PRIMARY_KEY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(counter.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            int candidate = (start + i) % size;
+            if (healthy.get(candidate) == 1) {
+                return candidate;
+            }
+        }
+        return PRIMARY_KEY;
+    }
+
+    public void checkHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean up;
+            try (Connection connection = replicas.get(i).getConnection()) {
+                up = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (Exception e) {
+                up = false;
+            }
+            int previous = healthy.getAndSet(i, up ? 1 : 0);
+            if (previous == 1 && !up) {
+                log.warn("Read replica {} marked unhealthy", i);
+            } else if (previous == 0 && up) {
+                log.info("Read replica {} is healthy again", i);
+            }
+        }
+    }
+
+    public int healthyReplicaCount() {
+        int count = 0;
+        for (int i = 0; i < healthy.length(); i++) {
+            count += healthy.get(i);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,383 @@
+package com.marketplace.platform.config.idempotency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honours the Idempotency-Key header on the configured POST endpoints. The
+ * first request with a key executes and its response is stored; retries with
+ * the same key get that response replayed without reaching the controller,
+ * and duplicates arriving while it still runs wait for it. Server errors are
+ * not stored, so a retry after one executes again. For asynchronous handlers
+ * the response is captured on the async dispatch that writes it.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String EXECUTION_ATTRIBUTE = IdempotencyFilter.class.getName() + ".EXECUTION";
+    // Marks a wait that timed out, as opposed to a first request that left nothing to replay
+    private static final StoredResponse ABANDONED = new StoredResponse("", 0, null, null, null, 0);
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ErrorAttributes errorAttributes;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !properties.getPaths().contains(request.getRequestURI());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            Execution execution = (Execution) request.getAttribute(EXECUTION_ATTRIBUTE);
+            if (execution == null) {
+                filterChain.doFilter(request, response);
+            } else {
+                proceed(request, response, filterChain, execution);
+            }
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Idempotency-Key must be 1 to 255 characters");
+            return;
+        }
+
+        HttpServletRequest target = request;
+        byte[] content;
+        if (isForm(request)) {
+            // Reading the stream would hide form fields from getParameter, so the parameters are hashed instead
+            content = canonicalParameters(request).getBytes(StandardCharsets.UTF_8);
+        } else {
+            // Oversized bodies get 413 whether or not Content-Length announces them
+            long maxBodySize = properties.getMaxBodySize().toBytes();
+            if (request.getContentLengthLong() > maxBodySize) {
+                response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body too large");
+                return;
+            }
+            content = request.getInputStream().readNBytes((int) maxBodySize + 1);
+            if (content.length > maxBodySize) {
+                response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body too large");
+                return;
+            }
+            target = new CachedBodyRequest(request, content);
+        }
+
+        String key = sha256(idempotencyKey, request.getMethod(), request.getRequestURI());
+        String fingerprint = sha256(request.getQueryString(), new String(content, StandardCharsets.UTF_8));
+
+        while (true) {
+            StoredResponse stored = store.find(key).orElse(null);
+            if (stored != null) {
+                replay(stored, fingerprint, response);
+                return;
+            }
+
+            CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = store.begin(key, execution);
+            if (running == null) {
+                execute(target, response, filterChain, key, fingerprint, execution);
+                return;
+            }
+
+            stored = await(running);
+            if (stored == ABANDONED) {
+                count("in_flight_timeout");
+                response.sendError(HttpStatus.CONFLICT.value(),
+                        "A request with this Idempotency-Key is still being processed");
+                return;
+            }
+            if (stored != null) {
+                replay(stored, fingerprint, response);
+                return;
+            }
+            // The first request failed without a storable response; try again as the owner
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, String fingerprint, CompletableFuture<StoredResponse> execution)
+            throws ServletException, IOException {
+        CapturingResponse capturing = new CapturingResponse(response);
+        proceed(request, capturing, filterChain, new Execution(key, fingerprint, execution, capturing));
+    }
+
+    private void proceed(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         Execution execution) throws ServletException, IOException {
+        boolean succeeded = false;
+        try {
+            filterChain.doFilter(request, response);
+            succeeded = true;
+        } finally {
+            if (succeeded && isAsyncStarted(request)) {
+                defer(request, execution);
+            } else {
+                request.removeAttribute(EXECUTION_ATTRIBUTE);
+                complete(request, execution, succeeded);
+            }
+        }
+    }
+
+    // The result is written by a later async dispatch; the listener releases waiting duplicates if none comes
+    private void defer(HttpServletRequest request, Execution execution) {
+        if (request.getAttribute(EXECUTION_ATTRIBUTE) == null) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    store.finish(execution.key(), execution.future(), null);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        }
+        request.setAttribute(EXECUTION_ATTRIBUTE, execution);
+    }
+
+    private void complete(HttpServletRequest request, Execution execution, boolean succeeded) throws IOException {
+        CapturingResponse capturing = execution.response();
+        StoredResponse stored = null;
+        try {
+            if (succeeded) {
+                if (isStorable(capturing.getStatus())) {
+                    String errorMessage = capturing.errorSent ? errorMessage(request, capturing) : null;
+                    stored = store.newResponse(execution.fingerprint(), capturing.getStatus(),
+                            capturing.getContentType(), capturing.getContentAsByteArray(), errorMessage);
+                }
+                count("executed");
+            }
+        } finally {
+            store.finish(execution.key(), execution.future(), stored);
+            capturing.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            count("mismatch");
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    "Idempotency-Key was already used for a different request");
+            return;
+        }
+        count("replayed");
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.errorMessage() != null) {
+            response.sendError(stored.status(), stored.errorMessage());
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) throws ServletException {
+        try {
+            return running.get(properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return ABANDONED;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for a duplicate request", e);
+        }
+    }
+
+    // The error page shows the exception's message, which is not what was passed to sendError
+    private String errorMessage(HttpServletRequest request, CapturingResponse response) {
+        Throwable error = errorAttributes.getError(new ServletWebRequest(request));
+        return error != null && error.getMessage() != null ? error.getMessage() : response.errorMessage;
+    }
+
+    // Conflicts and throttling depend on timing, so a retry should run again
+    private static boolean isStorable(int status) {
+        return status < 500 && status != HttpStatus.CONFLICT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("http.server.requests.idempotency", "outcome", outcome).increment();
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    private static String canonicalParameters(HttpServletRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            canonical.append(parameter.getKey()).append('=').append(String.join(",", parameter.getValue())).append('&');
+        }
+        return canonical.toString();
+    }
+
+    private static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                if (part != null) {
+                    digest.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Execution(String key, String fingerprint, CompletableFuture<StoredResponse> future,
+                             CapturingResponse response) {
+    }
+
+    // Keeps the sendError message, which the error page renders after this filter returns
+    private static class CapturingResponse extends ContentCachingResponseWrapper {
+        private boolean errorSent;
+        private String errorMessage;
+
+        CapturingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            errorSent = true;
+            errorMessage = HttpStatus.valueOf(sc).getReasonPhrase();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            errorSent = true;
+            errorMessage = msg != null ? msg : HttpStatus.valueOf(sc).getReasonPhrase();
+            super.sendError(sc, msg);
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is all available at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
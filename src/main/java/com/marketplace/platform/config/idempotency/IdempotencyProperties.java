@@ -0,0 +1,25 @@
+package com.marketplace.platform.config.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // POST endpoints that honour the Idempotency-Key header
+    private List<String> paths = new ArrayList<>();
+    private Duration ttl = Duration.ofHours(24);
+    private int maxCachedResponses = 10_000;
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+    // How long a duplicate waits for the first request before giving up with 409
+    private Duration inFlightTimeout = Duration.ofSeconds(30);
+    private long cleanupIntervalMs = 600_000L;
+}
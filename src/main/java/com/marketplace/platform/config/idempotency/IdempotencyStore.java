@@ -0,0 +1,156 @@
+package com.marketplace.platform.config.idempotency;
+
+import com.marketplace.platform.domain.idempotency.IdempotencyRecord;
+import com.marketplace.platform.repository.idempotency.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stored responses by idempotency key: a bounded LRU in front of the
+ * idempotency_keys table, plus the requests currently executing so that
+ * duplicates can wait for them. Waiting only covers duplicates that reach the
+ * same instance; across instances the table still makes later retries replay.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final LinkedHashMap<String, StoredResponse> cache;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > properties.getMaxCachedResponses();
+            }
+        };
+    }
+
+    public Optional<StoredResponse> find(String key) {
+        long now = System.currentTimeMillis();
+        StoredResponse cached = getCached(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            removeCached(key);
+        }
+        Optional<StoredResponse> stored = repository.findById(key)
+                .map(IdempotencyStore::toStoredResponse)
+                .filter(response -> !response.isExpired(now));
+        stored.ifPresent(response -> putCached(key, response));
+        return stored;
+    }
+
+    // Returns null when the caller now owns the key, or the future of the request that does
+    public CompletableFuture<StoredResponse> begin(String key, CompletableFuture<StoredResponse> execution) {
+        return inFlight.putIfAbsent(key, execution);
+    }
+
+    // A null response (nothing worth replaying) lets the waiting duplicates execute themselves
+    public void finish(String key, CompletableFuture<StoredResponse> execution, StoredResponse response) {
+        try {
+            if (response != null) {
+                save(key, response);
+            }
+        } finally {
+            inFlight.remove(key, execution);
+            execution.complete(response);
+        }
+    }
+
+    public StoredResponse newResponse(String fingerprint, int status, String contentType, byte[] body,
+                                      String errorMessage) {
+        long expiresAt = System.currentTimeMillis() + properties.getTtl().toMillis();
+        return new StoredResponse(fingerprint, status, contentType, body, errorMessage, expiresAt);
+    }
+
+    private void save(String key, StoredResponse response) {
+        putCached(key, response);
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setRecordKey(key);
+        record.setFingerprint(response.fingerprint());
+        record.setStatus(response.status());
+        record.setContentType(response.contentType());
+        record.setBody(response.body());
+        record.setErrorMessage(response.errorMessage());
+        record.setCreatedAt(LocalDateTime.now());
+        record.setExpiresAt(toLocalDateTime(response.expiresAtMillis()));
+        try {
+            repository.save(record);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the same key first; its response is equivalent
+            log.debug("Idempotency key {} already stored", key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        cacheLock.lock();
+        try {
+            cache.values().removeIf(response -> response.isExpired(now));
+        } finally {
+            cacheLock.unlock();
+        }
+        int deleted = repository.deleteExpired(toLocalDateTime(now));
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private StoredResponse getCached(String key) {
+        cacheLock.lock();
+        try {
+            return cache.get(key);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void putCached(String key, StoredResponse response) {
+        cacheLock.lock();
+        try {
+            cache.put(key, response);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void removeCached(String key) {
+        cacheLock.lock();
+        try {
+            cache.remove(key);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private static StoredResponse toStoredResponse(IdempotencyRecord record) {
+        long expiresAt = record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new StoredResponse(record.getFingerprint(), record.getStatus(), record.getContentType(),
+                record.getBody(), record.getErrorMessage(), expiresAt);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,13 @@
+package com.marketplace.platform.config.idempotency;
+
+public record StoredResponse(String fingerprint,
+                             int status,
+                             String contentType,
+                             byte[] body,
+                             String errorMessage,
+                             long expiresAtMillis) {
+
+    boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,79 @@
+package com.marketplace.platform.config.retry;
+
+import com.marketplace.platform.exception.ConflictException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write in its own transaction and, when it loses an
+ * optimistic-lock race, runs it again on fresh state after a jittered backoff.
+ * Only for updates that are safe to re-apply. Once the attempts are used up the
+ * conflict is reported as 409.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OptimisticRetryExecutor {
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // A conflict poisons the caller's session, so only the caller can retry
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> work.get());
+                recordAttempts(operation, attempt);
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("optimistic.retry.conflicts", "operation", operation).increment();
+                if (attempt >= properties.getMaxAttempts()) {
+                    recordAttempts(operation, attempt);
+                    meterRegistry.counter("optimistic.retry.exhausted", "operation", operation).increment();
+                    log.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw new ConflictException("The resource was modified concurrently, please retry");
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Full jitter: contending writers spread out instead of colliding again in lockstep
+    private void backoff(int attempt) {
+        long ceiling = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("The resource was modified concurrently, please retry");
+        }
+    }
+
+    private void recordAttempts(String operation, int attempts) {
+        DistributionSummary.builder("optimistic.retry.attempts")
+                .description("Attempts needed per optimistically locked update")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(attempts);
+    }
+}
@@ -0,0 +1,18 @@
+package com.marketplace.platform.config.retry;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.optimistic-retry")
+public class OptimisticRetryProperties {
+    // Including the first attempt
+    private int maxAttempts = 4;
+    // Backoff ceiling doubles from this per attempt; the actual pause is random below it
+    private Duration initialBackoff = Duration.ofMillis(10);
+    private Duration maxBackoff = Duration.ofMillis(200);
+}
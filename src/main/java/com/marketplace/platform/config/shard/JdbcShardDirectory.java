@@ -0,0 +1,74 @@
+package com.marketplace.platform.config.shard;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Keeps the directory in a table on the main datasource, outside the shards.
+ * Writes autocommit, independently of the shard transaction that uses them, so a
+ * crash before that transaction ends can leave a reservation without a user;
+ * ShardDirectoryReconciler releases those. The table comes from db/shard-directory.sql.
+ */
+public class JdbcShardDirectory implements ShardDirectory {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public JdbcShardDirectory(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public OptionalInt findShard(String email) {
+        List<Integer> shards = jdbcTemplate.queryForList(
+                "SELECT shard_id FROM user_shard_directory WHERE email = ?", Integer.class, email);
+        return shards.isEmpty() ? OptionalInt.empty() : OptionalInt.of(shards.get(0));
+    }
+
+    @Override
+    public boolean reserve(String email, int shard) {
+        try {
+            jdbcTemplate.update("INSERT INTO user_shard_directory (email, shard_id, created_at) VALUES (?, ?, ?)",
+                    email, shard, Timestamp.valueOf(LocalDateTime.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String email) {
+        if (email != null) {
+            jdbcTemplate.update("DELETE FROM user_shard_directory WHERE email = ?", email);
+        }
+    }
+
+    @Override
+    public List<String> findReservedBefore(int shard, LocalDateTime cutoff, String afterEmail, int limit) {
+        return jdbcTemplate.queryForList("SELECT email FROM user_shard_directory "
+                        + "WHERE shard_id = ? AND email > ? AND created_at < ? ORDER BY email LIMIT ?",
+                String.class, shard, afterEmail, Timestamp.valueOf(cutoff), limit);
+    }
+
+    @Override
+    public int releaseStale(int shard, Collection<String> emails, LocalDateTime cutoff) {
+        if (emails.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update("DELETE FROM user_shard_directory "
+                        + "WHERE shard_id = :shard AND email IN (:emails) AND created_at < :cutoff",
+                new MapSqlParameterSource()
+                        .addValue("shard", shard)
+                        .addValue("emails", emails)
+                        .addValue("cutoff", Timestamp.valueOf(cutoff)));
+    }
+}
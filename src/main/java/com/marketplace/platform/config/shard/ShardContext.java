@@ -0,0 +1,32 @@
+package com.marketplace.platform.config.shard;
+
+/**
+ * Binds the shard the current thread works against. It has to be bound before
+ * a transaction starts, since the transaction fetches its connection up front.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static int currentShard() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : ShardRouter.DEFAULT_SHARD;
+    }
+
+    // Returns the previously bound shard so callers can restore it
+    public static Integer bind(Integer shard) {
+        Integer previous = CURRENT.get();
+        if (shard != null) {
+            CURRENT.set(shard);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+}
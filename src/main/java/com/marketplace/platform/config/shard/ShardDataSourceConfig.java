@@ -0,0 +1,117 @@
+package com.marketplace.platform.config.shard;
+
+import com.marketplace.platform.config.ChangeFeedProperties;
+import com.marketplace.platform.config.datasource.ReplicaDataSourceProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits users across the configured shards. spring.datasource becomes the
+ * directory database; JPA works against whichever shard the thread is bound to.
+ * Flyway migrates every shard, while Hibernate's ddl-auto only ever sees the
+ * default one. The change feed keeps one global sequence and cannot be spread
+ * over shards, so it has to be disabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+    @Bean
+    public HikariDataSource directoryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("directory");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties properties,
+                                             ReplicaDataSourceProperties replicaProperties,
+                                             ChangeFeedProperties changeFeedProperties,
+                                             MeterRegistry meterRegistry) {
+        if (replicaProperties.isReplicasEnabled()) {
+            throw new IllegalStateException("Read replicas and sharding cannot be enabled together");
+        }
+        if (changeFeedProperties.isEnabled()) {
+            throw new IllegalStateException(
+                    "The change feed cannot be used with sharding, set app.change-feed.enabled to false");
+        }
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("Sharding is enabled but no shards are configured");
+        }
+        int shardCount = properties.getShards().size();
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSource.setConnectionInitSql(connectionInitSql(shard, i, shardCount));
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // Flyway would otherwise only reach the default shard through the routing data source
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return flyway -> dataSource.getResolvedDataSources().values().forEach(shard -> Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(shard)
+                .load()
+                .migrate());
+    }
+
+    @Bean
+    public DataSourceInitializer directorySchemaInitializer(HikariDataSource directoryDataSource,
+                                                            ShardingProperties properties) {
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(directoryDataSource);
+        initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("db/shard-directory.sql")));
+        initializer.setEnabled(properties.isInitializeDirectorySchema());
+        return initializer;
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(HikariDataSource directoryDataSource) {
+        return new JdbcShardDirectory(directoryDataSource);
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter, ShardDirectory shardDirectory) {
+        return new ShardRoutingAspect(shardRouter, shardDirectory);
+    }
+
+    // Interleaves generated ids so that ShardRouter can find a user's shard from its id
+    private static String connectionInitSql(ShardingProperties.Shard shard, int index, int shardCount) {
+        if (shard.getConnectionInitSql() != null) {
+            return shard.getConnectionInitSql();
+        }
+        if (shard.getUrl() != null && shard.getUrl().startsWith("jdbc:mysql:")) {
+            return "SET SESSION auto_increment_increment = " + shardCount
+                    + ", auto_increment_offset = " + (index + 1);
+        }
+        return null;
+    }
+}
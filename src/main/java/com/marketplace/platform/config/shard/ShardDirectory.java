@@ -0,0 +1,25 @@
+package com.marketplace.platform.config.shard;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Global email-to-shard mapping. Reserving an email is also what keeps emails
+ * unique across shards, since each shard only enforces its own unique index.
+ */
+public interface ShardDirectory {
+    OptionalInt findShard(String email);
+
+    // False when the email is already taken on any shard
+    boolean reserve(String email, int shard);
+
+    void release(String email);
+
+    // Emails reserved on the shard before the cutoff, in email order after afterEmail
+    List<String> findReservedBefore(int shard, LocalDateTime cutoff, String afterEmail, int limit);
+
+    // Only drops reservations made before the cutoff, newer ones may belong to a registration in flight
+    int releaseStale(int shard, Collection<String> emails, LocalDateTime cutoff);
+}
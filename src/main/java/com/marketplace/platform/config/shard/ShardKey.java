@@ -0,0 +1,25 @@
+package com.marketplace.platform.config.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the service method argument that decides which shard the call runs on.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+    Source value() default Source.USER_ID;
+
+    enum Source {
+        USER_ID,
+        // Looked up in the shard directory
+        EMAIL,
+        // Tokens issued while sharded carry their shard as a prefix
+        TOKEN,
+        // A registration request; the shard is picked from its email
+        NEW_USER
+    }
+}
@@ -0,0 +1,154 @@
+package com.marketplace.platform.config.shard;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps shard keys to shards. Shard i hands out user ids i + 1, i + 1 + n,
+ * i + 1 + 2n... so the shard of a user follows from its id alone. Without
+ * sharding there is one shard and nothing is bound.
+ */
+@Component
+public class ShardRouter {
+    public static final int DEFAULT_SHARD = 0;
+    private static final char TOKEN_SEPARATOR = '.';
+
+    private final int shardCount;
+    private final long scatterTimeoutNanos;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        this.shardCount = properties.isEnabled() ? Math.max(properties.getShards().size(), 1) : 1;
+        this.scatterTimeoutNanos = properties.getScatterTimeout().toNanos();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scatterExecutor = shardCount > 1
+                ? Executors.newFixedThreadPool(properties.getScatterThreads(),
+                        runnable -> new Thread(runnable, "shard-scatter-" + threadCount.incrementAndGet()))
+                : null;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardForUserId(long userId) {
+        return (int) Math.floorMod(userId - 1, (long) shardCount);
+    }
+
+    public int shardForNewUser(String email) {
+        return shardCount == 1 ? DEFAULT_SHARD : Math.floorMod(email.toLowerCase(Locale.ROOT).hashCode(), shardCount);
+    }
+
+    public String newToken() {
+        String token = UUID.randomUUID().toString();
+        return shardCount == 1 ? token : ShardContext.currentShard() + String.valueOf(TOKEN_SEPARATOR) + token;
+    }
+
+    public int shardForToken(String token) {
+        int separator = token.indexOf(TOKEN_SEPARATOR);
+        if (shardCount == 1 || separator <= 0) {
+            return DEFAULT_SHARD;
+        }
+        try {
+            int shard = Integer.parseInt(token, 0, separator, 10);
+            return shard < shardCount ? shard : DEFAULT_SHARD;
+        } catch (NumberFormatException e) {
+            return DEFAULT_SHARD;
+        }
+    }
+
+    public Map<Integer, List<Long>> groupByShard(Collection<Long> userIds) {
+        Map<Integer, List<Long>> byShard = new TreeMap<>();
+        for (Long userId : userIds) {
+            byShard.computeIfAbsent(shardForUserId(userId), shard -> new ArrayList<>()).add(userId);
+        }
+        return byShard;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (shardCount == 1) {
+            return work.get();
+        }
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.bind(previous);
+        }
+    }
+
+    // Runs the work once per shard, one shard after the other
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            onShard(target, () -> {
+                work.accept(target);
+                return null;
+            });
+        }
+    }
+
+    // Runs the query on every shard in parallel, each in its own read-only transaction
+    public <T> List<T> scatter(IntFunction<T> query) {
+        if (shardCount == 1) {
+            T result = readOnlyTransaction.execute(status -> query.apply(DEFAULT_SHARD));
+            return Collections.singletonList(result);
+        }
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() ->
+                    onShard(target, () -> readOnlyTransaction.execute(status -> query.apply(target)))));
+        }
+
+        long deadline = System.nanoTime() + scatterTimeoutNanos;
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Shard query timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
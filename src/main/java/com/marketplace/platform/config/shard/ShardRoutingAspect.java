@@ -0,0 +1,65 @@
+package com.marketplace.platform.config.shard;
+
+import com.marketplace.platform.dto.request.UserRegistrationRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Binds the shard picked from the {@link ShardKey} argument. Runs ahead of the
+ * transaction interceptor so the transaction opens on that shard.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+
+    @Around("execution(* com.marketplace.platform.service..*(.., @com.marketplace.platform.config.shard.ShardKey (*), ..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Integer shard = resolveShard(joinPoint);
+        if (shard == null) {
+            return joinPoint.proceed();
+        }
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.bind(previous);
+        }
+    }
+
+    private Integer resolveShard(ProceedingJoinPoint joinPoint) {
+        Method method = AopUtils.getMostSpecificMethod(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getTarget().getClass());
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof ShardKey shardKey && args[i] != null) {
+                    return shardFor(shardKey.value(), args[i]);
+                }
+            }
+        }
+        // A missing key is left to the method's own validation
+        return null;
+    }
+
+    private int shardFor(ShardKey.Source source, Object key) {
+        return switch (source) {
+            case USER_ID -> shardRouter.shardForUserId((Long) key);
+            case EMAIL -> shardDirectory.findShard((String) key).orElse(ShardRouter.DEFAULT_SHARD);
+            case TOKEN -> shardRouter.shardForToken((String) key);
+            case NEW_USER -> shardRouter.shardForNewUser(((UserRegistrationRequest) key).getEmail());
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.marketplace.platform.config.shard;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Merges the pages that each shard returned for the same query. Every shard
+ * must have been asked for its first offset + size rows in the requested order.
+ */
+public final class ShardedPages {
+
+    private ShardedPages() {
+    }
+
+    public static <T> Page<T> merge(List<Page<T>> shardPages, Pageable pageable) {
+        if (shardPages.size() == 1) {
+            return shardPages.get(0);
+        }
+        List<T> merged = new ArrayList<>();
+        long total = 0;
+        for (Page<T> page : shardPages) {
+            merged.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+        // The input is a run of sorted shard results, which TimSort merges in near-linear time
+        merged.sort(comparator(pageable.getSort()));
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(new ArrayList<>(merged.subList(from, to)), pageable, total);
+    }
+
+    // Size each shard's page so the merged page can be cut out of the combined rows
+    public static Pageable shardPageable(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        long rows = pageable.getOffset() + pageable.getPageSize();
+        return PageRequest.of(0, (int) Math.min(rows, Integer.MAX_VALUE), pageable.getSort());
+    }
+
+    private static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            // Strings compare case-insensitively like the default MySQL collation; nulls sort low
+            Comparator<Object> values = Comparator.nullsFirst((left, right) -> compareValues(left, right));
+            Comparator<T> byProperty = Comparator.comparing(
+                    item -> new BeanWrapperImpl(item).getPropertyValue(order.getProperty()), values);
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object left, Object right) {
+        if (left instanceof String leftString && right instanceof String rightString) {
+            return String.CASE_INSENSITIVE_ORDER.compare(leftString, rightString);
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+}
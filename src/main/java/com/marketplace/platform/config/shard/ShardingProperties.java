@@ -0,0 +1,35 @@
+package com.marketplace.platform.config.shard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+    private boolean enabled = false;
+    private List<Shard> shards = new ArrayList<>();
+    private int scatterThreads = 8;
+    private Duration scatterTimeout = Duration.ofSeconds(5);
+    // Runs db/shard-directory.sql against the directory database on startup; turn off to manage it by hand
+    private boolean initializeDirectorySchema = true;
+    // Directory rows older than this with no user on their shard were left by a crash and are released
+    private Duration staleReservationAfter = Duration.ofMinutes(10);
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+    private int reconcileBatchSize = 500;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        // Defaults to interleaved AUTO_INCREMENT settings for MySQL shards
+        private String connectionInitSql;
+    }
+}
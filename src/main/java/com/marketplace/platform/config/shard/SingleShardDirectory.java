@@ -0,0 +1,39 @@
+package com.marketplace.platform.config.shard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalInt;
+
+// Without sharding the unique index on users.email is enough
+@Component
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class SingleShardDirectory implements ShardDirectory {
+
+    @Override
+    public OptionalInt findShard(String email) {
+        return OptionalInt.of(ShardRouter.DEFAULT_SHARD);
+    }
+
+    @Override
+    public boolean reserve(String email, int shard) {
+        return true;
+    }
+
+    @Override
+    public void release(String email) {
+    }
+
+    @Override
+    public List<String> findReservedBefore(int shard, LocalDateTime cutoff, String afterEmail, int limit) {
+        return List.of();
+    }
+
+    @Override
+    public int releaseStale(int shard, Collection<String> emails, LocalDateTime cutoff) {
+        return 0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.marketplace.platform.config.sql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL activity of one HTTP request. Thread-safe, since work for a request may be
+ * handed to other threads.
+ */
+public class SqlStats {
+    // Distinct statements tracked for repeat detection; enough for any sane request
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder entitiesLoaded = new LongAdder();
+    private final LongAdder dbNanos = new LongAdder();
+    private final Map<String, AtomicInteger> executionsBySql = new ConcurrentHashMap<>();
+
+    void recordStatement(String sql) {
+        statements.increment();
+        AtomicInteger executions = executionsBySql.get(sql);
+        if (executions == null && executionsBySql.size() < MAX_DISTINCT_STATEMENTS) {
+            executions = executionsBySql.computeIfAbsent(sql, key -> new AtomicInteger());
+        }
+        if (executions != null) {
+            executions.incrementAndGet();
+        }
+    }
+
+    void recordEntityLoaded() {
+        entitiesLoaded.increment();
+    }
+
+    void recordExecution(long nanos) {
+        dbNanos.add(nanos);
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getEntitiesLoaded() {
+        return entitiesLoaded.sum();
+    }
+
+    public long getDbNanos() {
+        return dbNanos.sum();
+    }
+
+    // Hibernate binds parameters, so an N+1 shows up as the same SQL text executed many times
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        Map.Entry<String, Integer> mostRepeated = null;
+        for (Map.Entry<String, AtomicInteger> entry : executionsBySql.entrySet()) {
+            int executions = entry.getValue().get();
+            if (mostRepeated == null || executions > mostRepeated.getValue()) {
+                mostRepeated = Map.entry(entry.getKey(), executions);
+            }
+        }
+        return mostRepeated;
+    }
+}
@@ -0,0 +1,28 @@
+package com.marketplace.platform.config.sql;
+
+/**
+ * Binds the current request's {@link SqlStats} to the thread so the Hibernate
+ * hooks can find it. Statements outside a request (scheduled jobs, event
+ * handlers) are not counted.
+ */
+public final class SqlStatsContext {
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatsContext() {
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    // Returns the previously bound stats so callers can restore them
+    public static SqlStats bind(SqlStats stats) {
+        SqlStats previous = CURRENT.get();
+        if (stats != null) {
+            CURRENT.set(stats);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,126 @@
+package com.marketplace.platform.config.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL issued while serving each request. Totals are recorded as
+ * metrics tagged with the route, requests over budget (statement count, one
+ * statement repeated, i.e. a likely N+1, or DB time) are logged and counted,
+ * and with app.sql-stats.expose-headers the totals are returned as X-SQL-*
+ * headers. Asynchronous requests are recorded once their last dispatch ends.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlStatsFilter extends OncePerRequestFilter {
+    private static final String STATS_ATTRIBUTE = SqlStatsFilter.class.getName() + ".STATS";
+
+    private final SqlStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStats stats = (SqlStats) request.getAttribute(STATS_ATTRIBUTE);
+        HttpServletResponse target = response;
+        if (stats == null) {
+            stats = new SqlStats();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            // An async dispatch already carries the wrapper in its response
+            if (properties.isExposeHeaders()) {
+                target = new HeaderWritingResponse(response, stats);
+            }
+        }
+        SqlStats previous = SqlStatsContext.bind(stats);
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatsContext.bind(previous);
+            if (!isAsyncStarted(request)) {
+                request.removeAttribute(STATS_ATTRIBUTE);
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing SQL per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+
+        Map.Entry<String, Integer> mostRepeated = stats.getMostRepeatedStatement();
+        if (mostRepeated != null && mostRepeated.getValue() > properties.getMaxRepeatedStatement()) {
+            budgetExceeded(uri, "repeated_statement");
+            log.warn("Possible N+1 on {} {}: statement executed {} times: {}",
+                    request.getMethod(), uri, mostRepeated.getValue(), mostRepeated.getKey());
+        }
+        if (stats.getStatements() > properties.getMaxStatements()) {
+            budgetExceeded(uri, "statements");
+            log.warn("{} {} executed {} SQL statements", request.getMethod(), uri, stats.getStatements());
+        }
+        if (stats.getDbNanos() > properties.getMaxDbTime().toNanos()) {
+            budgetExceeded(uri, "db_time");
+            log.warn("{} {} spent {} ms in SQL", request.getMethod(), uri,
+                    TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos()));
+        }
+    }
+
+    private void budgetExceeded(String uri, String reason) {
+        meterRegistry.counter("http.server.requests.sql.budget.exceeded", "uri", uri, "reason", reason).increment();
+    }
+
+    // Headers have to be set before the body commits the response
+    private static class HeaderWritingResponse extends OnCommittedResponseWrapper {
+        private final SqlStats stats;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader("X-SQL-Statements", String.valueOf(stats.getStatements()));
+            setHeader("X-SQL-Entities-Loaded", String.valueOf(stats.getEntitiesLoaded()));
+            setHeader("X-SQL-Time-Ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos())));
+            Map.Entry<String, Integer> mostRepeated = stats.getMostRepeatedStatement();
+            if (mostRepeated != null) {
+                setHeader("X-SQL-Max-Repeats", String.valueOf(mostRepeated.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.marketplace.platform.config.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.sql-stats")
+public class SqlStatsProperties {
+    // X-SQL-* response headers; metrics are recorded either way
+    private boolean exposeHeaders = false;
+    private int maxStatements = 20;
+    private int maxRepeatedStatement = 5;
+    private Duration maxDbTime = Duration.ofMillis(500);
+}
@@ -0,0 +1,39 @@
+package com.marketplace.platform.config.sql;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Instantiated by Hibernate for every session; times statement and batch
+ * execution against the request's stats.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+    private transient long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    private void recordExecution() {
+        SqlStats stats = SqlStatsContext.current();
+        if (stats != null && executionStart != 0) {
+            stats.recordExecution(System.nanoTime() - executionStart);
+        }
+        executionStart = 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.marketplace.platform.controller;
+
+import com.marketplace.platform.service.stats.UserStatsBackfillJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/stats")
+@RequiredArgsConstructor
+public class AdminStatsController {
+    private final UserStatsBackfillJob userStatsBackfillJob;
+
+    @PostMapping("/backfill")
+    public ResponseEntity<Void> backfill() {
+        return userStatsBackfillJob.start()
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
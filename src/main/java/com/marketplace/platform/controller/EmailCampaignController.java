@@ -0,0 +1,37 @@
+package com.marketplace.platform.controller;
+
+import com.marketplace.platform.dto.request.EmailCampaignRequest;
+import com.marketplace.platform.dto.response.EmailCampaignResponse;
+import com.marketplace.platform.service.campaign.EmailCampaignService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/campaigns")
+@RequiredArgsConstructor
+public class EmailCampaignController {
+    private final EmailCampaignService emailCampaignService;
+
+    @PostMapping
+    public ResponseEntity<EmailCampaignResponse> createCampaign(@Valid @RequestBody EmailCampaignRequest request) {
+        return new ResponseEntity<>(emailCampaignService.createCampaign(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{campaignId}")
+    public ResponseEntity<EmailCampaignResponse> getCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.ok(emailCampaignService.getCampaign(campaignId));
+    }
+
+    @PostMapping("/{campaignId}/start")
+    public ResponseEntity<EmailCampaignResponse> startCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.accepted().body(emailCampaignService.startCampaign(campaignId));
+    }
+
+    @PostMapping("/{campaignId}/pause")
+    public ResponseEntity<EmailCampaignResponse> pauseCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.accepted().body(emailCampaignService.pauseCampaign(campaignId));
+    }
+}
@@ -1,8 +1,11 @@
 package com.marketplace.platform.controller;
 
+import com.marketplace.platform.dto.response.ReadinessResponse;
+import com.marketplace.platform.service.health.ReadinessMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,11 +14,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/health")
 public class HealthCheckController {
 
-    private final JdbcTemplate jdbcTemplate;
+    private final ReadinessMonitor readinessMonitor;
 
     @Autowired
-    public HealthCheckController(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public HealthCheckController(ReadinessMonitor readinessMonitor) {
+        this.readinessMonitor = readinessMonitor;
     }
 
     @GetMapping
@@ -23,14 +26,22 @@ public class HealthCheckController {
         return ResponseEntity.ok("Server is running!");
     }
 
+    // Both endpoints serve the monitor's last background probe and never touch the database.
+    // They are public, so details stay in the monitor's logs and metrics.
     @GetMapping("/database")
-    public ResponseEntity<?> databaseHealthCheck() {
-        try {
-            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
-            return ResponseEntity.ok("Database connection successful!");
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .body("Database connection failed: " + e.getMessage());
-        }
+    public ResponseEntity<ReadinessResponse.Check> databaseHealthCheck() {
+        ReadinessResponse.Check check = readinessMonitor.check(ReadinessMonitor.DATABASE);
+        boolean up = check != null && check.getStatus() != ReadinessResponse.Status.DOWN;
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .cacheControl(CacheControl.noStore())
+                .body(check != null ? check.withoutDetails() : null);
+    }
+
+    @GetMapping("/readiness")
+    public ResponseEntity<ReadinessResponse> readiness() {
+        ReadinessResponse readiness = readinessMonitor.current();
+        return ResponseEntity.status(readiness.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .cacheControl(CacheControl.noStore())
+                .body(readiness.withoutDetails());
     }
 }
@@ -0,0 +1,57 @@
+package com.marketplace.platform.controller;
+
+import com.marketplace.platform.dto.request.ChunkedUploadRequest;
+import com.marketplace.platform.dto.response.ChunkedUploadResponse;
+import com.marketplace.platform.dto.response.UploadChunkResponse;
+import com.marketplace.platform.service.storage.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/users/{userId}/profile-picture/uploads")
+@RequiredArgsConstructor
+public class ProfilePictureUploadController {
+    private final ChunkedUploadService chunkedUploadService;
+
+    @PostMapping
+    public ResponseEntity<ChunkedUploadResponse> startUpload(
+            @PathVariable Long userId,
+            @Valid @RequestBody ChunkedUploadRequest request) {
+        return new ResponseEntity<>(chunkedUploadService.start(userId, request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ChunkedUploadResponse> getUpload(@PathVariable Long userId, @PathVariable String uploadId) {
+        return ResponseEntity.ok(chunkedUploadService.getStatus(userId, uploadId));
+    }
+
+    // The raw body is streamed to disk; nothing is buffered as a multipart file
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadChunkResponse> putChunk(
+            @PathVariable Long userId,
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            @RequestHeader(value = "X-Chunk-CRC32C", required = false) String crc32c,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.putChunk(userId, uploadId, index, request.getInputStream(), crc32c));
+    }
+
+    @PostMapping("/{uploadId}/commit")
+    public ResponseEntity<Void> commitUpload(@PathVariable Long userId, @PathVariable String uploadId) {
+        chunkedUploadService.commit(userId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable Long userId, @PathVariable String uploadId) {
+        chunkedUploadService.abort(userId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.marketplace.platform.controller;
+
+import com.marketplace.platform.dto.response.UserChangeFeedResponse;
+import com.marketplace.platform.service.feed.UserChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/users/changes")
+@RequiredArgsConstructor
+public class UserChangeFeedController {
+    private final UserChangeFeedService userChangeFeedService;
+
+    @GetMapping
+    public ResponseEntity<UserChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(userChangeFeedService.getChanges(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return userChangeFeedService.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
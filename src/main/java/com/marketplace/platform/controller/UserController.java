@@ -1,37 +1,70 @@
 package com.marketplace.platform.controller;
 
+import com.marketplace.platform.config.async.Bulkheads;
 import com.marketplace.platform.domain.user.UserStatus;
 import com.marketplace.platform.dto.request.*;
+import com.marketplace.platform.dto.response.UserBatchResponse;
 import com.marketplace.platform.dto.response.UserResponse;
+import com.marketplace.platform.repository.user.UserVersion;
 import com.marketplace.platform.service.user.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final Bulkheads bulkheads;
 
+    // Password hashing, file storage and mail run on their own bulkheads and release the request thread
     @PostMapping
-    public ResponseEntity<UserResponse> registerUser(@Valid @RequestBody UserRegistrationRequest request) {
-        return new ResponseEntity<>(userService.registerUser(request), HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<UserResponse>> registerUser(
+            @Valid @RequestBody UserRegistrationRequest request) {
+        return bulkheads.cpu().supply(() -> new ResponseEntity<>(userService.registerUser(request), HttpStatus.CREATED));
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<UserResponse> getUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(userService.getUserById(userId));
+    public ResponseEntity<UserResponse> getUser(@PathVariable Long userId, WebRequest webRequest) {
+        // Answer conditional requests from the version query alone, without loading the user
+        if (isConditional(webRequest) && isNotModified(webRequest, userService.getUserVersion(userId))) {
+            return null;
+        }
+        return withValidators(userService.getUserById(userId));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<UserBatchResponse> getUsers(@Valid @RequestBody UserBatchLookupRequest request) {
+        return ResponseEntity.ok(userService.getUsersByIds(request.getUserIds()));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<UserResponse>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.autocomplete(q, limit));
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<UserResponse> getUserByEmail(@PathVariable String email) {
-        return ResponseEntity.ok(userService.getUserByEmail(email));
+    public ResponseEntity<UserResponse> getUserByEmail(@PathVariable String email, WebRequest webRequest) {
+        if (isConditional(webRequest) && isNotModified(webRequest, userService.getUserVersionByEmail(email))) {
+            return null;
+        }
+        return withValidators(userService.getUserByEmail(email));
     }
 
     @GetMapping("/email/check")
@@ -46,6 +79,11 @@ public class UserController {
         return ResponseEntity.ok(userService.updateUser(userId, request));
     }
 
+    @PostMapping("/{userId}/restore")
+    public ResponseEntity<UserResponse> restoreUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(userService.restoreUser(userId));
+    }
+
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
         userService.deleteUser(userId);
@@ -81,32 +119,66 @@ public class UserController {
     }
 
     @PostMapping(value = "/{userId}/profile-picture", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Void> updateProfilePicture(
+    public CompletableFuture<ResponseEntity<Void>> updateProfilePicture(
             @PathVariable Long userId,
             @ModelAttribute ProfilePictureRequest request) {
-        userService.updateProfilePicture(userId, request);
-        return ResponseEntity.noContent().build();
+        return bulkheads.disk().run(() -> userService.updateProfilePicture(userId, request))
+                .thenApply(done -> ResponseEntity.noContent().build());
     }
 
     @PostMapping("/password/reset-request")
-    public ResponseEntity<Void> initiatePasswordReset(@RequestParam String email) {
-        userService.initiatePasswordReset(email);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> initiatePasswordReset(@RequestParam String email) {
+        return bulkheads.network().run(() -> userService.initiatePasswordReset(email))
+                .thenApply(done -> ResponseEntity.ok().build());
     }
 
     @PostMapping("/password/reset")
-    public ResponseEntity<Void> resetPassword(
+    public CompletableFuture<ResponseEntity<Void>> resetPassword(
             @RequestParam String token,
             @RequestParam String newPassword) {
-        userService.resetPassword(token, newPassword);
-        return ResponseEntity.ok().build();
+        return bulkheads.cpu().run(() -> userService.resetPassword(token, newPassword))
+                .thenApply(done -> ResponseEntity.ok().build());
     }
 
     @PatchMapping("/{userId}/password")
-    public ResponseEntity<Void> changePassword(
+    public CompletableFuture<ResponseEntity<Void>> changePassword(
             @PathVariable Long userId,
             @Valid @RequestBody ChangePasswordRequest request) {
-        userService.changePassword(userId, request);
-        return ResponseEntity.ok().build();
+        return bulkheads.cpu().run(() -> userService.changePassword(userId, request))
+                .thenApply(done -> ResponseEntity.ok().build());
+    }
+
+    // Plain GETs skip the version query and go straight to the user
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static boolean isNotModified(WebRequest webRequest, UserVersion version) {
+        if (!webRequest.checkNotModified(eTag(version.userId(), version.version()), toEpochMilli(version.updatedAt()))) {
+            return false;
+        }
+        // A 304 has to vary the same way as the 200 it stands in for
+        if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return true;
+    }
+
+    private ResponseEntity<UserResponse> withValidators(UserResponse user) {
+        return ResponseEntity.ok()
+                .eTag(eTag(user.getUserId(), user.getVersion()))
+                .lastModified(toEpochMilli(user.getUpdatedAt()))
+                // The same version is served as JSON, CBOR or Smile
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(user);
+    }
+
+    private static String eTag(Long userId, long version) {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.marketplace.platform.controller;
+
+import com.marketplace.platform.dto.response.UserStatsResponse;
+import com.marketplace.platform.service.stats.UserStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/users/stats")
+@RequiredArgsConstructor
+public class UserStatsController {
+    private final UserStatsService userStatsService;
+
+    @GetMapping
+    public ResponseEntity<UserStatsResponse> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(userStatsService.getStats(from, to));
+    }
+}
@@ -0,0 +1,9 @@
+package com.marketplace.platform.domain.campaign;
+
+public enum CampaignStatus {
+    DRAFT,
+    RUNNING,
+    PAUSED,
+    COMPLETED,
+    FAILED
+}
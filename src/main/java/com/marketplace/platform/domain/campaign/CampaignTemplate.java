@@ -0,0 +1,6 @@
+package com.marketplace.platform.domain.campaign;
+
+// Only templates that make sense for a crowd; transactional ones such as account deletion stay out
+public enum CampaignTemplate {
+    WELCOME
+}
@@ -0,0 +1,62 @@
+package com.marketplace.platform.domain.campaign;
+
+import com.marketplace.platform.domain.user.UserStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "email_campaigns")
+@NoArgsConstructor
+public class EmailCampaign {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long campaignId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CampaignTemplate template;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CampaignStatus status = CampaignStatus.DRAFT;
+
+    // Recipient selection, mirroring UserSearchCriteria
+    private String searchTerm;
+
+    @Enumerated(EnumType.STRING)
+    private UserStatus userStatus;
+
+    private LocalDateTime createdFrom;
+
+    private LocalDateTime createdTo;
+
+    // Checkpoint: recipients are walked in userId order, so a restart resumes after this id
+    @Column(nullable = false)
+    private long lastUserId;
+
+    @Column(nullable = false)
+    private long sentCount;
+
+    @Column(nullable = false)
+    private long failedCount;
+
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime checkpointAt;
+
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,46 @@
+package com.marketplace.platform.domain.idempotency;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response stored for an Idempotency-Key, so a retry replays it even after a
+ * restart or when it lands on another instance.
+ */
+@Data
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expiresAt")
+})
+@NoArgsConstructor
+public class IdempotencyRecord {
+    // SHA-256 of the key, method and path
+    @Id
+    @Column(length = 64)
+    private String recordKey;
+
+    // SHA-256 of the request, to reject a key reused for a different request
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private int status;
+
+    private String contentType;
+
+    @Lob
+    private byte[] body;
+
+    // Set when the response was an error rendered by the error page
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,32 @@
+package com.marketplace.platform.domain.user;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "password_reset_tokens_archive", indexes = {
+        @Index(name = "idx_password_reset_tokens_archive_user_id", columnList = "user_id")
+})
+@NoArgsConstructor
+public class ArchivedPasswordResetToken {
+    @Id
+    private Long id;
+
+    private String token;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private LocalDateTime expiryDate;
+
+    private boolean used;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
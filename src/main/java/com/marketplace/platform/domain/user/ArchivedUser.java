@@ -0,0 +1,50 @@
+package com.marketplace.platform.domain.user;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Same columns as users, so rows move between the tables with INSERT ... SELECT
+@Data
+@Entity
+@Table(name = "users_archive", indexes = {
+        @Index(name = "idx_users_archive_email", columnList = "email")
+})
+@NoArgsConstructor
+public class ArchivedUser {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private String passwordHash;
+
+    @Column(nullable = false)
+    private String firstName;
+
+    @Column(nullable = false)
+    private String lastName;
+
+    private String phone;
+    private String profileImage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserStatus status;
+
+    private boolean isEmailVerified;
+
+    private long version;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,6 @@
+package com.marketplace.platform.domain.user;
+
+public enum NotificationType {
+    STATUS_CHANGE,
+    PASSWORD_CHANGE
+}
@@ -0,0 +1,45 @@
+package com.marketplace.platform.domain.user;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Durable copy of a notification waiting out its coalescing window, so a
+ * restart neither drops nor duplicates it.
+ */
+@Data
+@Entity
+@Table(name = "pending_notifications", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_pending_notifications_user_type", columnNames = {"userId", "type"})
+})
+@NoArgsConstructor
+public class PendingNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private String email;
+
+    private String firstName;
+
+    // Latest status for STATUS_CHANGE, and the status before the first change in the window
+    private String status;
+
+    private String initialStatus;
+
+    @Column(nullable = false)
+    private int mergedCount;
+
+    // Also identifies the window, so a flush never deletes the row of a newer one
+    @Column(nullable = false)
+    private long dueAtMillis;
+}
@@ -35,6 +35,9 @@ public class User {
 
     private boolean isEmailVerified = false;
 
+    @Version
+    private long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
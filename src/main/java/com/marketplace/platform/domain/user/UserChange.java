@@ -0,0 +1,39 @@
+package com.marketplace.platform.domain.user;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "user_changes", indexes = {
+        @Index(name = "idx_user_changes_user_id", columnList = "userId"),
+        @Index(name = "idx_user_changes_changed_at", columnList = "changedAt")
+})
+@NoArgsConstructor
+public class UserChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserChangeType changeType;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    public UserChange(Long userId, UserChangeType changeType) {
+        this.userId = userId;
+        this.changeType = changeType;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        changedAt = LocalDateTime.now();
+    }
+}
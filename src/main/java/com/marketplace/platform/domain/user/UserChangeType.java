@@ -0,0 +1,12 @@
+package com.marketplace.platform.domain.user;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    EMAIL_VERIFIED,
+    STATUS_CHANGED,
+    PASSWORD_CHANGED,
+    PROFILE_PICTURE_CHANGED,
+    DEACTIVATED,
+    ARCHIVED
+}
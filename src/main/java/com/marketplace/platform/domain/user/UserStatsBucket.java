@@ -0,0 +1,25 @@
+package com.marketplace.platform.domain.user;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsBucket implements Serializable {
+    @Column(nullable = false)
+    private LocalDate signupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserStatus status;
+
+    @Column(nullable = false)
+    private boolean emailVerified;
+}
@@ -0,0 +1,21 @@
+package com.marketplace.platform.domain.user;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of users per signup day, status and verification state, kept up to
+ * date by the user service so dashboards never have to count the users table.
+ */
+@Data
+@Entity
+@Table(name = "user_stats_rollup")
+@NoArgsConstructor
+public class UserStatsRollup {
+    @EmbeddedId
+    private UserStatsBucket bucket;
+
+    @Column(nullable = false)
+    private long userCount;
+}
@@ -0,0 +1,13 @@
+package com.marketplace.platform.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+@Data
+public class ChunkedUploadRequest {
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @Positive(message = "File size must be positive")
+    private long totalSize;
+}
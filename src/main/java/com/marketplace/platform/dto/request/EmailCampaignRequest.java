@@ -0,0 +1,13 @@
+package com.marketplace.platform.dto.request;
+
+import com.marketplace.platform.domain.campaign.CampaignTemplate;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class EmailCampaignRequest {
+    @NotNull(message = "Template is required")
+    private CampaignTemplate template;
+
+    private UserSearchCriteria criteria;
+}
@@ -0,0 +1,13 @@
+package com.marketplace.platform.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserBatchLookupRequest {
+    @NotEmpty(message = "At least one user id is required")
+    @Size(max = 500, message = "At most 500 user ids can be requested at once")
+    private List<@NotNull Long> userIds;
+}
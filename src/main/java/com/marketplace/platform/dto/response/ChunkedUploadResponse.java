@@ -0,0 +1,17 @@
+package com.marketplace.platform.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ChunkedUploadResponse {
+    private String uploadId;
+    private long totalSize;
+    private int chunkSize;
+    private int totalChunks;
+    private int receivedChunks;
+    private List<Integer> missingChunks;
+    private LocalDateTime expiresAt;
+}
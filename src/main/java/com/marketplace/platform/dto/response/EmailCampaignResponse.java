@@ -0,0 +1,21 @@
+package com.marketplace.platform.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class EmailCampaignResponse {
+    private Long campaignId;
+    private String template;
+    private String status;
+    private long lastUserId;
+    private long sentCount;
+    private long failedCount;
+    private double messagesPerSecond;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime checkpointAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,47 @@
+package com.marketplace.platform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReadinessResponse {
+    private Status status;
+    private boolean ready;
+    private Instant checkedAt;
+    private Map<String, Check> checks;
+
+    public enum Status { UP, DEGRADED, DOWN }
+
+    /**
+     * Copy safe for anonymous callers: statuses only, without the details, metrics and
+     * timings that would reveal hosts, pool names or error messages.
+     */
+    public ReadinessResponse withoutDetails() {
+        Map<String, Check> statuses = new LinkedHashMap<>();
+        checks.forEach((name, check) -> statuses.put(name, check.withoutDetails()));
+        return new ReadinessResponse(status, ready, checkedAt, statuses);
+    }
+
+    @Data
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Check {
+        private Status status;
+        private boolean critical;
+        private String detail;
+        private Map<String, Object> metrics;
+        private Long durationMs;
+        private Instant checkedAt;
+
+        public Check withoutDetails() {
+            return new Check(status, critical, null, null, null, checkedAt);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.marketplace.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UploadChunkResponse {
+    private int index;
+    private long bytes;
+    // CRC32C of the chunk as stored, in hex
+    private String crc32c;
+    private int receivedChunks;
+    private int totalChunks;
+}
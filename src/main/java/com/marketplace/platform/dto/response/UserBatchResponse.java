@@ -0,0 +1,15 @@
+package com.marketplace.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResponse {
+    private List<UserResponse> users;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,17 @@
+package com.marketplace.platform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangeFeedResponse {
+    private List<UserChangeResponse> changes;
+    // Pass as "after" on the next request
+    private long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,12 @@
+package com.marketplace.platform.dto.response;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class UserChangeResponse {
+    private Long seq;
+    private Long userId;
+    private String changeType;
+    private LocalDateTime changedAt;
+}
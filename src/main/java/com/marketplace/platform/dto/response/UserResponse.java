@@ -14,5 +14,9 @@ public class UserResponse {
     private String status;
     private boolean isEmailVerified;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long version;
+    // Served from the archive tables; restore the user before changing it
+    private boolean archived;
 }
 
@@ -0,0 +1,24 @@
+package com.marketplace.platform.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class UserStatsResponse {
+    private long totalUsers;
+    private long verifiedUsers;
+    private Map<String, Long> usersByStatus;
+    private Map<LocalDate, Long> signupsPerDay;
+    private List<Bucket> buckets;
+
+    @Data
+    public static class Bucket {
+        private LocalDate signupDate;
+        private String status;
+        private boolean emailVerified;
+        private long userCount;
+    }
+}
@@ -0,0 +1,52 @@
+package com.marketplace.platform.repository.campaign;
+
+import com.marketplace.platform.domain.campaign.CampaignStatus;
+import com.marketplace.platform.domain.campaign.EmailCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, Long> {
+    List<EmailCampaign> findByStatus(CampaignStatus status);
+
+    @Modifying
+    @Query("""
+        UPDATE EmailCampaign c SET c.lastUserId = :lastUserId,
+            c.sentCount = c.sentCount + :sent,
+            c.failedCount = c.failedCount + :failed,
+            c.lastError = COALESCE(:lastError, c.lastError),
+            c.checkpointAt = :now
+        WHERE c.campaignId = :campaignId
+        """)
+    int checkpoint(@Param("campaignId") Long campaignId,
+                   @Param("lastUserId") long lastUserId,
+                   @Param("sent") long sent,
+                   @Param("failed") long failed,
+                   @Param("lastError") String lastError,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE EmailCampaign c SET c.status = :status, c.startedAt = COALESCE(c.startedAt, :now)
+        WHERE c.campaignId = :campaignId AND c.status IN :expected
+        """)
+    int transition(@Param("campaignId") Long campaignId,
+                   @Param("expected") List<CampaignStatus> expected,
+                   @Param("status") CampaignStatus status,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE EmailCampaign c SET c.status = :status, c.completedAt = :now
+        WHERE c.campaignId = :campaignId AND c.status = com.marketplace.platform.domain.campaign.CampaignStatus.RUNNING
+        """)
+    int finish(@Param("campaignId") Long campaignId,
+               @Param("status") CampaignStatus status,
+               @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,4 @@
+package com.marketplace.platform.repository.user;
+
+public record CampaignRecipient(Long userId, String email, String firstName) {
+}
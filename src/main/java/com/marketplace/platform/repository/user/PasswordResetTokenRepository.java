@@ -5,12 +5,25 @@ import com.marketplace.platform.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     Optional<PasswordResetToken> findByToken(String token);
 
+    @Query("""
+        SELECT new com.marketplace.platform.repository.user.UserAccount(
+            u.userId, u.email, u.firstName, u.lastName, u.status, u.isEmailVerified, u.passwordHash, u.version, u.createdAt)
+        FROM PasswordResetToken t JOIN t.user u WHERE t.token = :token
+        """)
+    Optional<UserAccount> findAccountByToken(@Param("token") String token);
+
+    @Modifying
+    @Query("UPDATE PasswordResetToken t SET t.used = true WHERE t.token = :token AND t.used = false AND t.expiryDate > :now")
+    int markUsed(@Param("token") String token, @Param("now") LocalDateTime now);
+
     @Modifying
     @Query("UPDATE PasswordResetToken t SET t.used = true WHERE t.user = :user AND t.used = false")
     void invalidateExistingTokens(User user);
@@ -0,0 +1,23 @@
+package com.marketplace.platform.repository.user;
+
+import com.marketplace.platform.domain.user.NotificationType;
+import com.marketplace.platform.domain.user.PendingNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface PendingNotificationRepository extends JpaRepository<PendingNotification, Long> {
+    Optional<PendingNotification> findByUserIdAndType(Long userId, NotificationType type);
+
+    @Modifying
+    @Query("""
+        DELETE FROM PendingNotification n
+        WHERE n.userId = :userId AND n.type = :type AND n.dueAtMillis = :dueAtMillis
+        """)
+    int deleteWindow(@Param("userId") Long userId,
+                     @Param("type") NotificationType type,
+                     @Param("dueAtMillis") long dueAtMillis);
+}
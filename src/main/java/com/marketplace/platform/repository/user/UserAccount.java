@@ -0,0 +1,9 @@
+package com.marketplace.platform.repository.user;
+
+import com.marketplace.platform.domain.user.UserStatus;
+
+import java.time.LocalDateTime;
+
+public record UserAccount(Long userId, String email, String firstName, String lastName, UserStatus status,
+                          boolean emailVerified, String passwordHash, long version, LocalDateTime createdAt) {
+}
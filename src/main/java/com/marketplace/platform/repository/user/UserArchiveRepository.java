@@ -0,0 +1,118 @@
+package com.marketplace.platform.repository.user;
+
+import com.marketplace.platform.domain.user.ArchivedUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves users and their tokens between the primary and archive tables. Each
+ * move is an INSERT ... SELECT followed by a DELETE of the copied rows, run
+ * together in the caller's transaction.
+ */
+public interface UserArchiveRepository extends JpaRepository<ArchivedUser, Long> {
+    String USER_COLUMNS = "user_id, email, password_hash, first_name, last_name, phone, profile_image, "
+            + "status, is_email_verified, version, created_at, updated_at";
+    String TOKEN_COLUMNS = "id, token, user_id, expiry_date, used, created_at";
+
+    @Query("""
+        SELECT new com.marketplace.platform.repository.user.UserVersion(a.userId, a.version, a.updatedAt)
+        FROM ArchivedUser a WHERE a.userId = :userId
+        """)
+    Optional<UserVersion> findVersionByUserId(@Param("userId") Long userId);
+
+    @Query(value = "SELECT user_id FROM users_archive WHERE user_id IN (:userIds)", nativeQuery = true)
+    List<Long> findArchivedUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT a.email FROM ArchivedUser a WHERE a.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT MIN(a.createdAt) FROM ArchivedUser a")
+    Optional<LocalDateTime> findFirstCreatedAt();
+
+    // Archived users keep counting in the signup rollups, so the stats rebuild reads them too
+    @Query("""
+        SELECT new com.marketplace.platform.repository.user.UserStatsRow(
+            CAST(a.createdAt AS LocalDate), a.status, a.isEmailVerified, COUNT(a))
+        FROM ArchivedUser a
+        WHERE a.createdAt >= :from AND a.createdAt < :to
+        GROUP BY CAST(a.createdAt AS LocalDate), a.status, a.isEmailVerified
+        """)
+    List<UserStatsRow> countStatsRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT user_id FROM users WHERE status = 'INACTIVE' AND updated_at < :cutoff "
+            + "ORDER BY user_id LIMIT :limit", nativeQuery = true)
+    List<Long> findArchivableUserIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Re-checks the criteria so a user reactivated since the candidate scan stays put
+    @Modifying
+    @Query(value = "INSERT INTO users_archive (" + USER_COLUMNS + ", archived_at) "
+            + "SELECT " + USER_COLUMNS + ", :now FROM users "
+            + "WHERE user_id IN (:userIds) AND status = 'INACTIVE' AND updated_at < :cutoff", nativeQuery = true)
+    int copyUsersToArchive(@Param("userIds") Collection<Long> userIds,
+                           @Param("cutoff") LocalDateTime cutoff,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO verification_tokens_archive (" + TOKEN_COLUMNS + ", archived_at) "
+            + "SELECT " + TOKEN_COLUMNS + ", :now FROM verification_tokens "
+            + "WHERE user_id IN (SELECT user_id FROM users_archive WHERE user_id IN (:userIds))", nativeQuery = true)
+    int copyVerificationTokensToArchive(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO password_reset_tokens_archive (" + TOKEN_COLUMNS + ", archived_at) "
+            + "SELECT " + TOKEN_COLUMNS + ", :now FROM password_reset_tokens "
+            + "WHERE user_id IN (SELECT user_id FROM users_archive WHERE user_id IN (:userIds))", nativeQuery = true)
+    int copyPasswordResetTokensToArchive(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM verification_tokens "
+            + "WHERE user_id IN (SELECT user_id FROM users_archive WHERE user_id IN (:userIds))", nativeQuery = true)
+    int deleteArchivedVerificationTokens(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens "
+            + "WHERE user_id IN (SELECT user_id FROM users_archive WHERE user_id IN (:userIds))", nativeQuery = true)
+    int deleteArchivedPasswordResetTokens(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM users "
+            + "WHERE user_id IN (SELECT user_id FROM users_archive WHERE user_id IN (:userIds))", nativeQuery = true)
+    int deleteArchivedUsers(@Param("userIds") Collection<Long> userIds);
+
+    // A new version and updated_at, otherwise the archiver picks the user up again on its next run
+    @Modifying
+    @Query(value = "INSERT INTO users (" + USER_COLUMNS + ") "
+            + "SELECT user_id, email, password_hash, first_name, last_name, phone, profile_image, "
+            + "status, is_email_verified, version + 1, created_at, :now "
+            + "FROM users_archive WHERE user_id = :userId", nativeQuery = true)
+    int restoreUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO verification_tokens (" + TOKEN_COLUMNS + ") "
+            + "SELECT " + TOKEN_COLUMNS + " FROM verification_tokens_archive WHERE user_id = :userId", nativeQuery = true)
+    int restoreVerificationTokens(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO password_reset_tokens (" + TOKEN_COLUMNS + ") "
+            + "SELECT " + TOKEN_COLUMNS + " FROM password_reset_tokens_archive WHERE user_id = :userId", nativeQuery = true)
+    int restorePasswordResetTokens(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM verification_tokens_archive WHERE user_id = :userId", nativeQuery = true)
+    int deleteVerificationTokensFromArchive(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens_archive WHERE user_id = :userId", nativeQuery = true)
+    int deletePasswordResetTokensFromArchive(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM users_archive WHERE user_id = :userId", nativeQuery = true)
+    int deleteUserFromArchive(@Param("userId") Long userId);
+}
@@ -0,0 +1,30 @@
+package com.marketplace.platform.repository.user;
+
+import com.marketplace.platform.domain.user.UserChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+    List<UserChange> findBySeqGreaterThanOrderBySeqAsc(Long seq, Limit limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_changes WHERE changed_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Entries older than the cutoff that a newer entry for the same user supersedes, in seq order
+    @Query(value = """
+        SELECT c.seq FROM user_changes c
+        WHERE c.seq > :afterSeq AND c.changed_at < :cutoff
+          AND EXISTS (SELECT 1 FROM user_changes newer WHERE newer.user_id = c.user_id AND newer.seq > c.seq)
+        ORDER BY c.seq
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Long> findSupersededSeqs(@Param("afterSeq") long afterSeq, @Param("cutoff") LocalDateTime cutoff,
+                                  @Param("limit") int limit);
+}
@@ -0,0 +1,4 @@
+package com.marketplace.platform.repository.user;
+
+public record UserIndexRow(Long userId, String firstName, String lastName, String email) {
+}
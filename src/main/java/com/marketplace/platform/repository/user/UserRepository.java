@@ -2,20 +2,114 @@ package com.marketplace.platform.repository.user;
 
 import com.marketplace.platform.domain.user.User;
 import com.marketplace.platform.domain.user.UserStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new com.marketplace.platform.repository.user.UserVersion(u.userId, u.version, u.updatedAt) FROM User u WHERE u.userId = :userId")
+    Optional<UserVersion> findVersionByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.marketplace.platform.repository.user.UserVersion(u.userId, u.version, u.updatedAt) FROM User u WHERE u.email = :email")
+    Optional<UserVersion> findVersionByEmail(@Param("email") String email);
+
+    @Query("""
+        SELECT new com.marketplace.platform.repository.user.UserAccount(
+            u.userId, u.email, u.firstName, u.lastName, u.status, u.isEmailVerified, u.passwordHash, u.version, u.createdAt)
+        FROM User u WHERE u.userId = :userId
+        """)
+    Optional<UserAccount> findAccountById(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+        UPDATE User u SET u.status = :status, u.updatedAt = :now, u.version = u.version + 1
+        WHERE u.userId = :userId AND u.version = :version
+        """)
+    int updateStatus(@Param("userId") Long userId,
+                     @Param("status") UserStatus status,
+                     @Param("version") long version,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE User u SET u.passwordHash = :passwordHash, u.updatedAt = :now, u.version = u.version + 1
+        WHERE u.userId = :userId AND u.version = :version
+        """)
+    int updatePasswordHash(@Param("userId") Long userId,
+                           @Param("passwordHash") String passwordHash,
+                           @Param("version") long version,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE User u SET u.isEmailVerified = true, u.updatedAt = :now, u.version = u.version + 1
+        WHERE u.userId = :userId AND u.version = :version
+        """)
+    int markEmailVerified(@Param("userId") Long userId,
+                          @Param("version") long version,
+                          @Param("now") LocalDateTime now);
+
+    @Query("SELECT MIN(u.createdAt) FROM User u")
+    Optional<LocalDateTime> findFirstCreatedAt();
+
+    @Query("""
+        SELECT new com.marketplace.platform.repository.user.UserStatsRow(
+            CAST(u.createdAt AS LocalDate), u.status, u.isEmailVerified, COUNT(u))
+        FROM User u
+        WHERE u.createdAt >= :from AND u.createdAt < :to
+        GROUP BY CAST(u.createdAt AS LocalDate), u.status, u.isEmailVerified
+        """)
+    List<UserStatsRow> countStatsRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+        SELECT new com.marketplace.platform.repository.user.UserIndexRow(u.userId, u.firstName, u.lastName, u.email)
+        FROM User u
+        WHERE u.userId > :afterId AND u.status <> com.marketplace.platform.domain.user.UserStatus.INACTIVE
+        ORDER BY u.userId
+        """)
+    List<UserIndexRow> findIndexRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Deactivated users are only reached when a campaign asks for INACTIVE explicitly
+    @Query("""
+        SELECT new com.marketplace.platform.repository.user.CampaignRecipient(u.userId, u.email, u.firstName)
+        FROM User u
+        WHERE u.userId > :afterId
+        AND (:term IS NULL OR
+              LOWER(u.firstName) LIKE LOWER(CONCAT('%', :term, '%')) OR
+              LOWER(u.lastName) LIKE LOWER(CONCAT('%', :term, '%')) OR
+              LOWER(u.email) LIKE LOWER(CONCAT('%', :term, '%')))
+        AND ((:status IS NULL AND u.status <> com.marketplace.platform.domain.user.UserStatus.INACTIVE)
+              OR u.status = :status)
+        AND (CAST(:startDate AS timestamp) IS NULL OR u.createdAt >= :startDate)
+        AND (CAST(:endDate AS timestamp) IS NULL OR u.createdAt <= :endDate)
+        ORDER BY u.userId
+        """)
+    List<CampaignRecipient> findCampaignRecipientsAfter(
+            @Param("afterId") Long afterId,
+            @Param("term") String term,
+            @Param("status") UserStatus status,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Limit limit
+    );
+
     @Query("""
         SELECT u FROM User u 
         WHERE (:term IS NULL OR 
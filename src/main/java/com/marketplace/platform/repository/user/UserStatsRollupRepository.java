@@ -0,0 +1,41 @@
+package com.marketplace.platform.repository.user;
+
+import com.marketplace.platform.domain.user.UserStatsBucket;
+import com.marketplace.platform.domain.user.UserStatsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserStatsRollupRepository extends JpaRepository<UserStatsRollup, UserStatsBucket> {
+    List<UserStatsRollup> findByBucketSignupDateBetweenOrderByBucketSignupDate(LocalDate from, LocalDate to);
+
+    @Query("SELECT MIN(r.bucket.signupDate) FROM UserStatsRollup r")
+    Optional<LocalDate> findFirstSignupDate();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_stats_rollup (signup_date, status, email_verified, user_count)
+        VALUES (:signupDate, :status, :emailVerified, :delta)
+        ON DUPLICATE KEY UPDATE user_count = user_count + :delta
+        """, nativeQuery = true)
+    void increment(@Param("signupDate") LocalDate signupDate,
+                   @Param("status") String status,
+                   @Param("emailVerified") boolean emailVerified,
+                   @Param("delta") long delta);
+
+    // Also takes the row and gap locks for the range, so increments for those days wait for the caller
+    @Modifying
+    @Query(value = "UPDATE user_stats_rollup SET user_count = 0 WHERE signup_date >= :from AND signup_date < :to",
+            nativeQuery = true)
+    int resetRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_stats_rollup WHERE signup_date >= :from AND signup_date < :to AND user_count = 0",
+            nativeQuery = true)
+    int deleteEmptyInRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,8 @@
+package com.marketplace.platform.repository.user;
+
+import com.marketplace.platform.domain.user.UserStatus;
+
+import java.time.LocalDate;
+
+public record UserStatsRow(LocalDate signupDate, UserStatus status, boolean emailVerified, long userCount) {
+}
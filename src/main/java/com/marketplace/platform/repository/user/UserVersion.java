@@ -0,0 +1,6 @@
+package com.marketplace.platform.repository.user;
+
+import java.time.LocalDateTime;
+
+public record UserVersion(Long userId, long version, LocalDateTime updatedAt) {
+}
@@ -1,13 +1,20 @@
 package com.marketplace.platform.security;
 
+import com.marketplace.platform.config.AdminProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableWebSecurity
@@ -18,9 +25,14 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Scrapers authenticate as the operator; the metrics describe internals
+                        .requestMatchers("/api/v1/admin/**", "/actuator/prometheus").hasRole("ADMIN")
                         .requestMatchers("/api/v1/users/**").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/api/health", "/api/health/**").permitAll()
                         .anyRequest().authenticated()
                 )
+                .httpBasic(Customizer.withDefaults())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 );
@@ -28,8 +40,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Only the operator account signs in; marketplace users never authenticate against this
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public UserDetailsService adminUserDetailsService(AdminProperties adminProperties, PasswordEncoder passwordEncoder) {
+        InMemoryUserDetailsManager manager = new InMemoryUserDetailsManager();
+        if (StringUtils.hasText(adminProperties.getPassword())) {
+            manager.createUser(User.withUsername(adminProperties.getUsername())
+                    .password(passwordEncoder.encode(adminProperties.getPassword()))
+                    .roles("ADMIN")
+                    .build());
+        }
+        return manager;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new InstrumentedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 }
@@ -0,0 +1,305 @@
+package com.marketplace.platform.service.campaign;
+
+import com.marketplace.platform.config.CampaignProperties;
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.domain.campaign.CampaignStatus;
+import com.marketplace.platform.domain.campaign.CampaignTemplate;
+import com.marketplace.platform.domain.campaign.EmailCampaign;
+import com.marketplace.platform.domain.user.UserStatus;
+import com.marketplace.platform.dto.request.EmailCampaignRequest;
+import com.marketplace.platform.dto.request.UserSearchCriteria;
+import com.marketplace.platform.dto.response.EmailCampaignResponse;
+import com.marketplace.platform.exception.BadRequestException;
+import com.marketplace.platform.exception.ConflictException;
+import com.marketplace.platform.exception.ResourceNotFoundException;
+import com.marketplace.platform.repository.campaign.EmailCampaignRepository;
+import com.marketplace.platform.repository.user.CampaignRecipient;
+import com.marketplace.platform.repository.user.UserRepository;
+import com.marketplace.platform.service.email.EmailService;
+import com.marketplace.platform.service.email.RenderedEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends a template to every user matching a search, walking the users table of every
+ * shard by id. Recipients are rendered in parallel, sent through a shared token bucket, and the
+ * position is checkpointed after every chunk so a paused or interrupted campaign
+ * resumes where it stopped (a chunk in flight during a crash may be re-sent).
+ */
+@Slf4j
+@Service
+public class EmailCampaignService {
+    private static final List<CampaignStatus> STARTABLE = List.of(CampaignStatus.DRAFT, CampaignStatus.PAUSED);
+
+    private final EmailCampaignRepository campaignRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final CampaignProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final TokenBucket sendRateLimiter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Set<Long> activeCampaigns = ConcurrentHashMap.newKeySet();
+    private final ExecutorService campaignExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "email-campaign"));
+    private final ExecutorService renderExecutor;
+    private volatile boolean shuttingDown;
+
+    public EmailCampaignService(EmailCampaignRepository campaignRepository,
+                                UserRepository userRepository,
+                                EmailService emailService,
+                                CampaignProperties properties,
+                                TransactionTemplate transactionTemplate,
+                                ShardRouter shardRouter,
+                                MeterRegistry meterRegistry) {
+        this.campaignRepository = campaignRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.sendRateLimiter = new TokenBucket(properties.getSendRatePerSecond(), properties.getSendBurst());
+
+        AtomicInteger renderThreadCount = new AtomicInteger();
+        this.renderExecutor = Executors.newFixedThreadPool(properties.getRenderThreads(),
+                runnable -> new Thread(runnable, "email-campaign-render-" + renderThreadCount.incrementAndGet()));
+
+        this.sentCounter = Counter.builder("email.campaign.messages")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("email.campaign.messages")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    public EmailCampaignResponse createCampaign(EmailCampaignRequest request) {
+        EmailCampaign campaign = new EmailCampaign();
+        campaign.setTemplate(request.getTemplate());
+
+        UserSearchCriteria criteria = request.getCriteria();
+        if (criteria != null) {
+            campaign.setSearchTerm(criteria.hasSearchTerm() ? criteria.getSearchTerm().trim() : null);
+            campaign.setUserStatus(criteria.getStatus() != null ? parseStatus(criteria.getStatus()) : null);
+            campaign.setCreatedFrom(criteria.getStartDate() != null ? parseDate("startDate", criteria.getStartDate()) : null);
+            campaign.setCreatedTo(criteria.getEndDate() != null ? parseDate("endDate", criteria.getEndDate()) : null);
+            if (campaign.getCreatedFrom() != null && campaign.getCreatedTo() != null
+                    && campaign.getCreatedFrom().isAfter(campaign.getCreatedTo())) {
+                throw new BadRequestException("startDate must not be after endDate");
+            }
+        }
+        return mapToResponse(campaignRepository.save(campaign));
+    }
+
+    public EmailCampaignResponse getCampaign(Long campaignId) {
+        return mapToResponse(findCampaign(campaignId));
+    }
+
+    public EmailCampaignResponse startCampaign(Long campaignId) {
+        Integer updated = transactionTemplate.execute(status -> campaignRepository.transition(
+                campaignId, STARTABLE, CampaignStatus.RUNNING, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            findCampaign(campaignId);
+            throw new ConflictException("Campaign can only be started from DRAFT or PAUSED");
+        }
+        submit(campaignId);
+        return getCampaign(campaignId);
+    }
+
+    // The runner notices the new status after its current chunk
+    public EmailCampaignResponse pauseCampaign(Long campaignId) {
+        Integer updated = transactionTemplate.execute(status -> campaignRepository.transition(
+                campaignId, List.of(CampaignStatus.RUNNING), CampaignStatus.PAUSED, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            findCampaign(campaignId);
+            throw new ConflictException("Only running campaigns can be paused");
+        }
+        return getCampaign(campaignId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRunningCampaigns() {
+        for (EmailCampaign campaign : campaignRepository.findByStatus(CampaignStatus.RUNNING)) {
+            log.info("Resuming email campaign {} after user {}", campaign.getCampaignId(), campaign.getLastUserId());
+            submit(campaign.getCampaignId());
+        }
+    }
+
+    private void submit(Long campaignId) {
+        if (!shuttingDown && activeCampaigns.add(campaignId)) {
+            campaignExecutor.execute(() -> run(campaignId));
+        }
+    }
+
+    private void run(Long campaignId) {
+        try {
+            EmailCampaign campaign = findCampaign(campaignId);
+            long lastUserId = campaign.getLastUserId();
+            while (true) {
+                List<CampaignRecipient> recipients = nextRecipients(campaign, lastUserId);
+
+                if (!recipients.isEmpty()) {
+                    ChunkResult result = sendChunk(campaign.getTemplate(), recipients);
+                    lastUserId = recipients.get(recipients.size() - 1).userId();
+                    long checkpointId = lastUserId;
+                    transactionTemplate.executeWithoutResult(status -> campaignRepository.checkpoint(campaignId,
+                            checkpointId, result.sent(), result.failed(), result.lastError(), LocalDateTime.now()));
+                }
+
+                if (recipients.size() < properties.getChunkSize()) {
+                    finish(campaignId, CampaignStatus.COMPLETED);
+                    log.info("Email campaign {} completed", campaignId);
+                    return;
+                }
+                if (findCampaign(campaignId).getStatus() != CampaignStatus.RUNNING) {
+                    log.info("Email campaign {} paused after user {}", campaignId, lastUserId);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Left RUNNING so the next startup resumes from the last checkpoint
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Email campaign {} failed", campaignId, e);
+            finish(campaignId, CampaignStatus.FAILED);
+        } finally {
+            activeCampaigns.remove(campaignId);
+        }
+
+        // A start request that raced with the runner stopping would otherwise be lost
+        if (!shuttingDown && findCampaign(campaignId).getStatus() == CampaignStatus.RUNNING) {
+            submit(campaignId);
+        }
+    }
+
+    /**
+     * Next chunk after the checkpoint in id order across all shards. Ids are unique
+     * across shards, so one checkpoint is also each shard's position.
+     */
+    private List<CampaignRecipient> nextRecipients(EmailCampaign campaign, long afterId) {
+        int chunkSize = properties.getChunkSize();
+        List<CampaignRecipient> merged = new ArrayList<>();
+        for (List<CampaignRecipient> shardRecipients : shardRouter.scatter(shard ->
+                userRepository.findCampaignRecipientsAfter(afterId, campaign.getSearchTerm(),
+                        campaign.getUserStatus(), campaign.getCreatedFrom(), campaign.getCreatedTo(),
+                        Limit.of(chunkSize)))) {
+            merged.addAll(shardRecipients);
+        }
+        merged.sort(Comparator.comparing(CampaignRecipient::userId));
+        return merged.size() > chunkSize ? merged.subList(0, chunkSize) : merged;
+    }
+
+    private ChunkResult sendChunk(CampaignTemplate template, List<CampaignRecipient> recipients) throws InterruptedException {
+        List<CompletableFuture<RenderedEmail>> rendered = recipients.stream()
+                .map(recipient -> CompletableFuture.supplyAsync(() -> render(template, recipient), renderExecutor))
+                .toList();
+
+        long sent = 0;
+        long failed = 0;
+        String lastError = null;
+        for (CompletableFuture<RenderedEmail> email : rendered) {
+            try {
+                RenderedEmail message = email.join();
+                sendRateLimiter.acquire();
+                emailService.sendRendered(message);
+                sent++;
+                sentCounter.increment();
+            } catch (MessagingException | RuntimeException e) {
+                failed++;
+                failedCounter.increment();
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                lastError = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+            }
+        }
+        return new ChunkResult(sent, failed, lastError != null && lastError.length() > 255
+                ? lastError.substring(0, 255)
+                : lastError);
+    }
+
+    private RenderedEmail render(CampaignTemplate template, CampaignRecipient recipient) {
+        return switch (template) {
+            case WELCOME -> emailService.renderWelcomeEmail(recipient.email(), recipient.firstName());
+        };
+    }
+
+    private static UserStatus parseStatus(String status) {
+        try {
+            return UserStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown status: " + status);
+        }
+    }
+
+    private static LocalDateTime parseDate(String field, String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(field + " must be an ISO date-time such as 2024-01-31T00:00:00");
+        }
+    }
+
+    private void finish(Long campaignId, CampaignStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> campaignRepository.finish(campaignId, status, LocalDateTime.now()));
+    }
+
+    private EmailCampaign findCampaign(Long campaignId) {
+        return campaignRepository.findById(campaignId)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
+    }
+
+    private EmailCampaignResponse mapToResponse(EmailCampaign campaign) {
+        EmailCampaignResponse response = new EmailCampaignResponse();
+        response.setCampaignId(campaign.getCampaignId());
+        response.setTemplate(campaign.getTemplate().name());
+        response.setStatus(campaign.getStatus().name());
+        response.setLastUserId(campaign.getLastUserId());
+        response.setSentCount(campaign.getSentCount());
+        response.setFailedCount(campaign.getFailedCount());
+        response.setLastError(campaign.getLastError());
+        response.setCreatedAt(campaign.getCreatedAt());
+        response.setStartedAt(campaign.getStartedAt());
+        response.setCheckpointAt(campaign.getCheckpointAt());
+        response.setCompletedAt(campaign.getCompletedAt());
+
+        if (campaign.getStartedAt() != null) {
+            LocalDateTime end = campaign.getCompletedAt() != null ? campaign.getCompletedAt() : LocalDateTime.now();
+            long millis = Duration.between(campaign.getStartedAt(), end).toMillis();
+            if (millis > 0) {
+                response.setMessagesPerSecond((campaign.getSentCount() + campaign.getFailedCount()) * 1000.0 / millis);
+            }
+        }
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        campaignExecutor.shutdownNow();
+        renderExecutor.shutdownNow();
+    }
+
+    private record ChunkResult(long sent, long failed, String lastError) {
+    }
+}
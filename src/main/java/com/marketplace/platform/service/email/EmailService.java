@@ -1,14 +1,18 @@
 package com.marketplace.platform.service.email;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
 
 import java.util.HashMap;
@@ -18,8 +22,12 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 public class EmailService {
+    // Both are proxied so SMTP and Thymeleaf setup happen on the first email rather than at startup
+    @Lazy
     private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
+    @Lazy
+    private final ITemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.email.from}")
     private String fromEmail;
@@ -31,13 +39,17 @@ public class EmailService {
     private String supportEmail;
 
     public void sendWelcomeEmail(String to, String firstName) throws MessagingException {
+        sendRendered(renderWelcomeEmail(to, firstName));
+    }
+
+    public RenderedEmail renderWelcomeEmail(String to, String firstName) {
         Context context = new Context();
         context.setVariable("firstName", firstName);
         context.setVariable("dashboardUrl", frontendUrl + "/dashboard");
         context.setVariable("helpUrl", frontendUrl + "/help");
         context.setVariable("socialLinks", getSocialLinks());
 
-        sendEmail(to,
+        return render(to,
                 "Welcome to Our Marketplace!",
                 "email/welcome-email",
                 context);
@@ -107,22 +119,49 @@ public class EmailService {
     }
 
     private void sendEmail(String to, String subject, String templateName, Context context) throws MessagingException {
+        sendRendered(render(to, subject, templateName, context));
+    }
+
+    // Template rendering is thread-safe, so bulk senders can render ahead of the SMTP connection
+    public RenderedEmail render(String to, String subject, String templateName, Context context) {
+        try {
+            Timer.Sample renderSample = Timer.start(meterRegistry);
+            String htmlContent = templateEngine.process(templateName, context);
+            renderSample.stop(meterRegistry.timer("email.render", "template", templateName));
+            return new RenderedEmail(to, subject, templateName, htmlContent);
+        } catch (RuntimeException e) {
+            recordFailure(templateName, e);
+            log.error("Failed to render email to: {}", to, e);
+            throw e;
+        }
+    }
+
+    public void sendRendered(RenderedEmail email) throws MessagingException {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
             helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-
-            String htmlContent = templateEngine.process(templateName, context);
-            helper.setText(htmlContent, true);
+            helper.setTo(email.to());
+            helper.setSubject(email.subject());
+            helper.setText(email.htmlContent(), true);
 
+            Timer.Sample sendSample = Timer.start(meterRegistry);
             mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send email to: {}", to, e);
+            sendSample.stop(meterRegistry.timer("email.send", "template", email.templateName()));
+            log.info("Email sent successfully to: {}", email.to());
+        } catch (MessagingException | RuntimeException e) {
+            recordFailure(email.templateName(), e);
+            log.error("Failed to send email to: {}", email.to(), e);
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    private void recordFailure(String templateName, Exception e) {
+        Counter.builder("email.failures")
+                .tag("template", templateName)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
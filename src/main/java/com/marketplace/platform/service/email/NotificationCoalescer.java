@@ -0,0 +1,268 @@
+package com.marketplace.platform.service.email;
+
+import com.marketplace.platform.config.NotificationProperties;
+import com.marketplace.platform.domain.user.NotificationType;
+import com.marketplace.platform.domain.user.PendingNotification;
+import com.marketplace.platform.repository.user.PendingNotificationRepository;
+import com.marketplace.platform.service.event.UserEvent;
+import com.marketplace.platform.service.event.UserEventHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers status and password notifications per user and type. The first event
+ * opens a window, later ones only update the buffered state, and when the window
+ * closes a single email with the final state is sent. A status that ends where
+ * it started sends nothing. Pending windows are mirrored to the
+ * pending_notifications table by a single writer thread, in the order the map
+ * changed, and rescheduled on startup. A failed send keeps its row and is
+ * retried after another window.
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer implements UserEventHandler {
+    private final EmailService emailService;
+    private final PendingNotificationRepository pendingNotificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMillis;
+    private final int maxSendAttempts;
+    private final Map<NotificationKey, Pending> pending = new ConcurrentHashMap<>();
+    private final TimingWheel<Window> wheel;
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "notification-sender"));
+    private final ExecutorService outboxWriter = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "notification-outbox"));
+    private final MeterRegistry meterRegistry;
+    private final Counter suppressed;
+    private final Counter outboxFailures;
+
+    public NotificationCoalescer(EmailService emailService,
+                                 PendingNotificationRepository pendingNotificationRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 NotificationProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.emailService = emailService;
+        this.pendingNotificationRepository = pendingNotificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.windowMillis = properties.getCoalesceWindow().toMillis();
+        this.maxSendAttempts = properties.getMaxSendAttempts();
+        this.wheel = new TimingWheel<>("notification-wheel", properties.getWheelTick().toMillis(),
+                properties.getWheelSize(), window -> sender.execute(() -> flush(window)));
+        this.meterRegistry = meterRegistry;
+        this.suppressed = Counter.builder("notifications.suppressed")
+                .description("Status notifications dropped because the status ended where it started")
+                .register(meterRegistry);
+        this.outboxFailures = Counter.builder("notifications.outbox.failed")
+                .description("Pending notification rows that could not be written, leaving them in memory only")
+                .register(meterRegistry);
+        Gauge.builder("notifications.pending", pending, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onEvent(UserEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case STATUS_CHANGED -> enqueue(NotificationType.STATUS_CHANGE, event.getUserId(), event.getEmail(),
+                    event.getFirstName(), event.getStatus().name(), event.getPreviousValue());
+            case PASSWORD_CHANGED -> enqueue(NotificationType.PASSWORD_CHANGE, event.getUserId(), event.getEmail(),
+                    event.getFirstName(), null, null);
+            default -> {
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restorePending() {
+        for (PendingNotification row : pendingNotificationRepository.findAll()) {
+            Pending restored = new Pending(row.getUserId(), row.getType(), row.getEmail(), row.getFirstName(),
+                    row.getStatus(), row.getInitialStatus(), row.getMergedCount(), row.getDueAtMillis(), 0);
+            if (pending.putIfAbsent(restored.key(), restored) == null) {
+                wheel.schedule(restored.window(), restored.dueAtMillis());
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Restored {} pending notifications", pending.size());
+        }
+    }
+
+    private void enqueue(NotificationType type, Long userId, String email, String firstName,
+                         String status, String previousStatus) {
+        NotificationKey key = new NotificationKey(userId, type);
+        Pending[] opened = new Pending[1];
+        CompletableFuture<?>[] written = new CompletableFuture<?>[1];
+        pending.compute(key, (k, existing) -> {
+            Pending next = existing == null
+                    ? new Pending(userId, type, email, firstName, status, previousStatus, 1,
+                            System.currentTimeMillis() + windowMillis, 0)
+                    : existing.merge(email, firstName, status);
+            // Only queued here; the row is written on the outbox thread, outside the map's lock
+            written[0] = write(next, () -> save(next));
+            if (existing == null) {
+                opened[0] = next;
+            }
+            return next;
+        });
+        // The next event is not taken until this one is in the table, or known to be memory-only
+        written[0].join();
+
+        if (opened[0] != null) {
+            wheel.schedule(opened[0].window(), opened[0].dueAtMillis());
+        } else {
+            meterRegistry.counter("notifications.coalesced", "type", type.name()).increment();
+        }
+    }
+
+    private CompletableFuture<Void> write(Pending notification, Runnable write) {
+        try {
+            return CompletableFuture.runAsync(write, outboxWriter).exceptionally(e -> {
+                outboxFailures.increment();
+                log.warn("Could not write pending {} notification for user {}, it is only buffered in memory",
+                        notification.type(), notification.userId(), e);
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            outboxFailures.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void save(Pending notification) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PendingNotification row = pendingNotificationRepository
+                    .findByUserIdAndType(notification.userId(), notification.type())
+                    .orElseGet(PendingNotification::new);
+            row.setUserId(notification.userId());
+            row.setType(notification.type());
+            row.setEmail(notification.email());
+            row.setFirstName(notification.firstName());
+            row.setStatus(notification.status());
+            row.setInitialStatus(notification.initialStatus());
+            row.setMergedCount(notification.mergedCount());
+            row.setDueAtMillis(notification.dueAtMillis());
+            pendingNotificationRepository.save(row);
+        });
+    }
+
+    private void delete(Pending notification) {
+        transactionTemplate.executeWithoutResult(status -> pendingNotificationRepository.deleteWindow(
+                notification.userId(), notification.type(), notification.dueAtMillis()));
+    }
+
+    private void flush(Window window) {
+        Pending notification = pending.get(window.key());
+        if (notification == null || notification.dueAtMillis() != window.dueAtMillis()) {
+            return;
+        }
+
+        boolean sent;
+        try {
+            send(notification);
+            sent = true;
+        } catch (MessagingException | RuntimeException e) {
+            log.error("Failed to send {} notification for user {}", notification.type(), notification.userId(), e);
+            sent = false;
+        }
+
+        // Events merged while sending are not in the email, so they stay pending in a new window
+        boolean delivered = sent;
+        long nextDueAtMillis = System.currentTimeMillis() + windowMillis;
+        Pending[] rescheduled = new Pending[1];
+        pending.computeIfPresent(window.key(), (k, current) -> {
+            Pending next;
+            if (delivered) {
+                next = current.equals(notification) ? null : current.afterDelivery(notification, nextDueAtMillis);
+            } else if (notification.attempts() + 1 < maxSendAttempts) {
+                next = current.retry(nextDueAtMillis);
+            } else {
+                log.error("Giving up on {} notification for user {} after {} attempts",
+                        notification.type(), notification.userId(), maxSendAttempts);
+                next = null;
+            }
+            if (next == null) {
+                write(current, () -> delete(current));
+            } else {
+                write(next, () -> save(next));
+            }
+            rescheduled[0] = next;
+            return next;
+        });
+        if (rescheduled[0] != null) {
+            wheel.schedule(rescheduled[0].window(), rescheduled[0].dueAtMillis());
+        }
+    }
+
+    private void send(Pending notification) throws MessagingException {
+        switch (notification.type()) {
+            case STATUS_CHANGE -> {
+                if (Objects.equals(notification.status(), notification.initialStatus())) {
+                    suppressed.increment();
+                    return;
+                }
+                emailService.sendStatusChangeNotification(
+                        notification.email(), notification.firstName(), notification.status());
+            }
+            case PASSWORD_CHANGE -> emailService.sendPasswordChangeNotification(
+                    notification.email(), notification.firstName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Anything still buffered stays in the table and is rescheduled on the next start
+        wheel.stop();
+        sender.shutdown();
+        sender.awaitTermination(10, TimeUnit.SECONDS);
+        outboxWriter.shutdown();
+        outboxWriter.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private record NotificationKey(Long userId, NotificationType type) {
+    }
+
+    private record Window(NotificationKey key, long dueAtMillis) {
+    }
+
+    private record Pending(Long userId, NotificationType type, String email, String firstName,
+                           String status, String initialStatus, int mergedCount, long dueAtMillis, int attempts) {
+        Pending merge(String email, String firstName, String status) {
+            return new Pending(userId, type, email, firstName, status, initialStatus, mergedCount + 1,
+                    dueAtMillis, attempts);
+        }
+
+        // What is left once the earlier state of this window has been emailed
+        Pending afterDelivery(Pending delivered, long nextDueAtMillis) {
+            return new Pending(userId, type, email, firstName, status, delivered.status(),
+                    mergedCount - delivered.mergedCount(), nextDueAtMillis, 0);
+        }
+
+        Pending retry(long nextDueAtMillis) {
+            return new Pending(userId, type, email, firstName, status, initialStatus, mergedCount,
+                    nextDueAtMillis, attempts + 1);
+        }
+
+        NotificationKey key() {
+            return new NotificationKey(userId, type);
+        }
+
+        Window window() {
+            return new Window(key(), dueAtMillis);
+        }
+    }
+}
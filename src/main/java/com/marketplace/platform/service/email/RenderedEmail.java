@@ -0,0 +1,4 @@
+package com.marketplace.platform.service.email;
+
+public record RenderedEmail(String to, String subject, String templateName, String htmlContent) {
+}
@@ -0,0 +1,98 @@
+package com.marketplace.platform.service.email;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: timeouts are bucketed by tick into a fixed ring of slots
+ * and a single thread expires one slot per tick, so scheduling is O(1) no matter
+ * how many items are waiting. Delays longer than one rotation simply stay in
+ * their slot until the right round. Precision is one tick.
+ */
+@Slf4j
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final Queue<Timeout<T>>[] slots;
+    private final Queue<Timeout<T>> additions = new ConcurrentLinkedQueue<>();
+    private final Consumer<T> onExpiry;
+    private final ScheduledExecutorService ticker;
+    private final AtomicInteger size = new AtomicInteger();
+    private final long startMillis;
+    // Only touched by the ticker thread
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(String name, long tickMillis, int wheelSize, Consumer<T> onExpiry) {
+        this.tickMillis = tickMillis;
+        this.slots = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.onExpiry = onExpiry;
+        this.startMillis = System.currentTimeMillis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        size.incrementAndGet();
+        additions.add(new Timeout<>(item, Math.max(0, (deadlineMillis - startMillis + tickMillis - 1) / tickMillis)));
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        long now = (System.currentTimeMillis() - startMillis) / tickMillis;
+        while (currentTick <= now) {
+            transferAdditions();
+            expire(slots[(int) (currentTick % slots.length)], currentTick);
+            currentTick++;
+        }
+    }
+
+    private void transferAdditions() {
+        Timeout<T> timeout;
+        while ((timeout = additions.poll()) != null) {
+            long tick = Math.max(timeout.deadlineTick(), currentTick);
+            slots[(int) (tick % slots.length)].add(new Timeout<>(timeout.item(), tick));
+        }
+    }
+
+    private void expire(Queue<Timeout<T>> slot, long tick) {
+        Iterator<Timeout<T>> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.deadlineTick() <= tick) {
+                iterator.remove();
+                size.decrementAndGet();
+                try {
+                    onExpiry.accept(timeout.item());
+                } catch (RuntimeException e) {
+                    log.error("Timing wheel callback failed", e);
+                }
+            }
+        }
+    }
+
+    private record Timeout<T>(T item, long deadlineTick) {
+    }
+}
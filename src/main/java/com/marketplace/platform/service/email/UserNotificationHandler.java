@@ -0,0 +1,30 @@
+package com.marketplace.platform.service.email;
+
+import com.marketplace.platform.service.event.UserEvent;
+import com.marketplace.platform.service.event.UserEventHandler;
+import jakarta.mail.MessagingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserNotificationHandler implements UserEventHandler {
+    private final EmailService emailService;
+
+    // Status and password notifications are batched by NotificationCoalescer
+    @Override
+    public void onEvent(UserEvent event, long sequence, boolean endOfBatch) {
+        try {
+            switch (event.getType()) {
+                case USER_REGISTERED -> emailService.sendVerificationEmail(
+                        event.getEmail(), event.getValue(), event.getFirstName());
+                default -> {
+                }
+            }
+        } catch (MessagingException e) {
+            log.error("Failed to send {} notification for user {}", event.getType(), event.getUserId(), e);
+        }
+    }
+}
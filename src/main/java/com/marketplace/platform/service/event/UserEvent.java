@@ -0,0 +1,35 @@
+package com.marketplace.platform.service.event;
+
+import com.marketplace.platform.domain.user.UserStatus;
+import lombok.Getter;
+
+/**
+ * Preallocated ring buffer slot. Instances are reused, so handlers must copy
+ * anything they need to keep beyond {@code onEvent}.
+ */
+@Getter
+public class UserEvent {
+    private UserEventType type;
+    private Long userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private UserStatus status;
+    // Type specific payload, e.g. the verification token or the new profile image
+    private String value;
+    private String previousValue;
+    private long publishedAtNanos;
+
+    void set(UserEventType type, Long userId, String email, String firstName, String lastName,
+             UserStatus status, String value, String previousValue) {
+        this.type = type;
+        this.userId = userId;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.status = status;
+        this.value = value;
+        this.previousValue = previousValue;
+        this.publishedAtNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,260 @@
+package com.marketplace.platform.service.event;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.marketplace.platform.domain.user.User;
+import com.marketplace.platform.domain.user.UserStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ring buffer based bus for user lifecycle events. Events are published once
+ * the surrounding transaction commits and fanned out to every
+ * {@link UserEventHandler}, each consuming on its own thread. Publishing runs on
+ * request threads, so when a slow handler fills the buffer events are dropped
+ * after {@code app.events.publish-timeout} instead of blocking the caller.
+ */
+@Slf4j
+@Component
+public class UserEventBus {
+    private final Disruptor<UserEvent> disruptor;
+    private final RingBuffer<UserEvent> ringBuffer;
+    private final Timer publishTimer;
+    private final MeterRegistry meterRegistry;
+    private final long publishTimeoutNanos;
+
+    public UserEventBus(List<UserEventHandler> handlers,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.events.ring-buffer-size:4096}") int ringBufferSize,
+                        @Value("${app.events.publish-timeout:50ms}") Duration publishTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+        this.disruptor = new Disruptor<>(UserEvent::new, ringBufferSize, threadFactory(),
+                ProducerType.MULTI, new BlockingWaitStrategy());
+        this.disruptor.setDefaultExceptionHandler(new LoggingExceptionHandler(meterRegistry));
+        List<TimedHandler> timedHandlers = handlers.stream()
+                .map(handler -> new TimedHandler(handler, meterRegistry))
+                .toList();
+        if (!timedHandlers.isEmpty()) {
+            this.disruptor.handleEventsWith(timedHandlers.toArray(new TimedHandler[0]));
+        }
+        this.ringBuffer = disruptor.start();
+
+        this.publishTimer = Timer.builder("user.events.publish")
+                .description("Time to claim and publish a ring buffer slot")
+                .register(meterRegistry);
+        for (TimedHandler handler : timedHandlers) {
+            Gauge.builder("user.events.lag", () -> ringBuffer.getCursor() - disruptor.getSequenceValueFor(handler))
+                    .description("Events published but not yet consumed by the handler")
+                    .tag("handler", handler.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("user.events.remaining.capacity", ringBuffer, RingBuffer::remainingCapacity)
+                .register(meterRegistry);
+    }
+
+    public long remainingCapacity() {
+        return ringBuffer.remainingCapacity();
+    }
+
+    public int capacity() {
+        return ringBuffer.getBufferSize();
+    }
+
+    public void userRegistered(User user, String verificationToken) {
+        publishAfterCommit(UserEventType.USER_REGISTERED, user.getUserId(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getStatus(), verificationToken, null);
+    }
+
+    public void userUpdated(User user, String previousEmail) {
+        publishAfterCommit(UserEventType.USER_UPDATED, user.getUserId(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getStatus(), null, previousEmail);
+    }
+
+    public void userDeactivated(Long userId) {
+        publishAfterCommit(UserEventType.USER_DEACTIVATED, userId, null, null, null,
+                UserStatus.INACTIVE, null, null);
+    }
+
+    public void userArchived(Long userId) {
+        publishAfterCommit(UserEventType.USER_ARCHIVED, userId, null, null, null,
+                UserStatus.INACTIVE, null, null);
+    }
+
+    public void statusChanged(Long userId, String email, String firstName, String lastName,
+                              UserStatus status, UserStatus previousStatus) {
+        publishAfterCommit(UserEventType.STATUS_CHANGED, userId, email, firstName, lastName, status,
+                null, previousStatus != null ? previousStatus.name() : null);
+    }
+
+    public void passwordChanged(Long userId, String email, String firstName) {
+        publishAfterCommit(UserEventType.PASSWORD_CHANGED, userId, email, firstName, null, null, null, null);
+    }
+
+    public void profilePictureChanged(Long userId, String profileImage, String previousProfileImage) {
+        publishAfterCommit(UserEventType.PROFILE_PICTURE_CHANGED, userId, null, null, null, null,
+                profileImage, previousProfileImage);
+    }
+
+    private void publishAfterCommit(UserEventType type, Long userId, String email, String firstName,
+                                    String lastName, UserStatus status, String value, String previousValue) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(type, userId, email, firstName, lastName, status, value, previousValue);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(type, userId, email, firstName, lastName, status, value, previousValue);
+            }
+        });
+    }
+
+    private void publish(UserEventType type, Long userId, String email, String firstName,
+                         String lastName, UserStatus status, String value, String previousValue) {
+        long start = System.nanoTime();
+        long sequence = claim(start);
+        if (sequence < 0) {
+            Counter.builder("user.events.dropped")
+                    .description("Events dropped because the ring buffer stayed full")
+                    .tag("type", type.name())
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Dropped {} event for user {}, the event buffer is full", type, userId);
+            return;
+        }
+        try {
+            ringBuffer.get(sequence).set(type, userId, email, firstName, lastName, status, value, previousValue);
+        } finally {
+            ringBuffer.publish(sequence);
+        }
+        publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // Next free slot, or -1 when none frees up before the publish timeout
+    private long claim(long start) {
+        while (true) {
+            try {
+                return ringBuffer.tryNext();
+            } catch (InsufficientCapacityException e) {
+                if (System.nanoTime() - start >= publishTimeoutNanos) {
+                    return -1;
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            disruptor.shutdown(10, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("User event handlers did not drain within 10 seconds");
+            disruptor.halt();
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "user-events-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Records how long each event waited in the ring buffer before the handler
+     * picked it up, then delegates.
+     */
+    private static class TimedHandler implements EventHandler<UserEvent> {
+        private final UserEventHandler delegate;
+        private final Timer delay;
+
+        TimedHandler(UserEventHandler delegate, MeterRegistry meterRegistry) {
+            this.delegate = delegate;
+            this.delay = Timer.builder("user.events.delivery")
+                    .description("Time from publish until the handler receives the event")
+                    .tag("handler", name())
+                    .register(meterRegistry);
+        }
+
+        String name() {
+            return delegate.getClass().getSimpleName();
+        }
+
+        @Override
+        public void onEvent(UserEvent event, long sequence, boolean endOfBatch) throws Exception {
+            delay.record(System.nanoTime() - event.getPublishedAtNanos(), TimeUnit.NANOSECONDS);
+            delegate.onEvent(event, sequence, endOfBatch);
+        }
+
+        @Override
+        public void onBatchStart(long batchSize, long queueDepth) {
+            delegate.onBatchStart(batchSize, queueDepth);
+        }
+
+        @Override
+        public void onStart() {
+            delegate.onStart();
+        }
+
+        @Override
+        public void onShutdown() {
+            delegate.onShutdown();
+        }
+
+        @Override
+        public void onTimeout(long sequence) throws Exception {
+            delegate.onTimeout(sequence);
+        }
+    }
+
+    private static class LoggingExceptionHandler implements ExceptionHandler<UserEvent> {
+        private final Counter failures;
+
+        LoggingExceptionHandler(MeterRegistry meterRegistry) {
+            this.failures = Counter.builder("user.events.failures")
+                    .description("Events whose handler threw an exception")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void handleEventException(Throwable ex, long sequence, UserEvent event) {
+            failures.increment();
+            log.error("Failed to handle {} event for user {}", event.getType(), event.getUserId(), ex);
+        }
+
+        @Override
+        public void handleOnStartException(Throwable ex) {
+            log.error("User event handler failed to start", ex);
+        }
+
+        @Override
+        public void handleOnShutdownException(Throwable ex) {
+            log.error("User event handler failed to shut down", ex);
+        }
+    }
+}
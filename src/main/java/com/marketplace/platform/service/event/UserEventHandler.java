@@ -0,0 +1,10 @@
+package com.marketplace.platform.service.event;
+
+import com.lmax.disruptor.EventHandler;
+
+/**
+ * Consumer of user lifecycle events. Each handler runs on its own thread and
+ * receives events in publish order, in batches flagged by {@code endOfBatch}.
+ */
+public interface UserEventHandler extends EventHandler<UserEvent> {
+}
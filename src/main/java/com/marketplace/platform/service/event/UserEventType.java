@@ -0,0 +1,11 @@
+package com.marketplace.platform.service.event;
+
+public enum UserEventType {
+    USER_REGISTERED,
+    USER_UPDATED,
+    USER_DEACTIVATED,
+    STATUS_CHANGED,
+    PASSWORD_CHANGED,
+    PROFILE_PICTURE_CHANGED,
+    USER_ARCHIVED
+}
@@ -0,0 +1,233 @@
+package com.marketplace.platform.service.feed;
+
+import com.marketplace.platform.config.ChangeFeedProperties;
+import com.marketplace.platform.domain.user.UserChange;
+import com.marketplace.platform.domain.user.UserChangeType;
+import com.marketplace.platform.dto.response.UserChangeFeedResponse;
+import com.marketplace.platform.dto.response.UserChangeResponse;
+import com.marketplace.platform.exception.ResourceNotFoundException;
+import com.marketplace.platform.repository.user.UserChangeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sequenced log of user changes. Rows are written in the same transaction as
+ * the change itself and served to consumers as cursor pages or an SSE stream.
+ */
+@Slf4j
+@Service
+public class UserChangeFeedService {
+    private final UserChangeRepository userChangeRepository;
+    private final ChangeFeedProperties properties;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Polling and sending run on their own threads, never on the shared @Scheduled one
+    private final ScheduledExecutorService pollExecutor;
+    private final ExecutorService sendExecutor;
+
+    public UserChangeFeedService(UserChangeRepository userChangeRepository,
+                                 ChangeFeedProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.userChangeRepository = userChangeRepository;
+        this.properties = properties;
+        this.pollExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "change-feed-poll"));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(properties.getPushThreads(),
+                runnable -> new Thread(runnable, "change-feed-push-" + threadCount.incrementAndGet()));
+        Gauge.builder("user.changes.subscribers", subscribers, List::size)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, UserChangeType changeType) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        userChangeRepository.save(new UserChange(userId, changeType));
+    }
+
+    @Transactional(readOnly = true)
+    public UserChangeFeedResponse getChanges(long after, int limit) {
+        requireEnabled();
+        int batchSize = Math.max(1, Math.min(limit, properties.getMaxBatchSize()));
+        List<UserChangeResponse> changes = fetch(after, batchSize);
+        long nextCursor = changes.isEmpty() ? after : changes.get(changes.size() - 1).getSeq();
+        return new UserChangeFeedResponse(changes, nextCursor, changes.size() == batchSize);
+    }
+
+    public SseEmitter subscribe(long after) {
+        requireEnabled();
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, after);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        pollExecutor.scheduleWithFixedDelay(this::pushToSubscribers, properties.getPollIntervalMs(),
+                properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void requireEnabled() {
+        if (!properties.isEnabled()) {
+            throw new ResourceNotFoundException("The change feed is disabled");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+
+    /*
+     * Streams at the same cursor share one query. Up-to-date streams all sit at the
+     * head, so a lagging stream only costs its own catch-up query per tick and never
+     * holds the others back.
+     */
+    void pushToSubscribers() {
+        try {
+            Map<Long, List<Subscriber>> byCursor = new HashMap<>();
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.isSending()) {
+                    byCursor.computeIfAbsent(subscriber.getCursor(), cursor -> new ArrayList<>()).add(subscriber);
+                }
+            }
+            for (Map.Entry<Long, List<Subscriber>> group : byCursor.entrySet()) {
+                List<UserChangeResponse> changes = fetch(group.getKey(), properties.getMaxBatchSize());
+                if (!changes.isEmpty()) {
+                    group.getValue().forEach(subscriber -> send(subscriber, changes));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; streams resume from their cursors on the next tick
+            log.error("Change feed push failed", e);
+        }
+    }
+
+    // A slow client only ties up one push thread, and gets no new batch until this one is written
+    private void send(Subscriber subscriber, List<UserChangeResponse> changes) {
+        if (!subscriber.startSending()) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> {
+                try {
+                    for (UserChangeResponse change : changes) {
+                        if (change.getSeq() > subscriber.getCursor()) {
+                            subscriber.getEmitter().send(SseEmitter.event()
+                                    .id(String.valueOf(change.getSeq()))
+                                    .name("user-change")
+                                    .data(change, MediaType.APPLICATION_JSON));
+                            subscriber.setCursor(change.getSeq());
+                        }
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping change feed subscriber", e);
+                    subscribers.remove(subscriber);
+                    subscriber.getEmitter().completeWithError(e);
+                } finally {
+                    subscriber.finishSending();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            subscriber.finishSending();
+        }
+    }
+
+    /*
+     * seq is assigned at insert but becomes visible at commit, so a missing seq may
+     * belong to a transaction that is still running. Reading stops at such a gap
+     * until it settles: once the entry after it is older than gap-timeout, the
+     * missing one was rolled back or compacted away.
+     */
+    private List<UserChangeResponse> fetch(long after, int limit) {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(properties.getGapTimeout());
+        List<UserChangeResponse> changes = new ArrayList<>();
+        long expected = after + 1;
+        for (UserChange change : userChangeRepository.findBySeqGreaterThanOrderBySeqAsc(after, Limit.of(limit))) {
+            if (change.getSeq() != expected && change.getChangedAt().isAfter(settledBefore)) {
+                break;
+            }
+            changes.add(mapToResponse(change));
+            expected = change.getSeq() + 1;
+        }
+        return changes;
+    }
+
+    private UserChangeResponse mapToResponse(UserChange change) {
+        UserChangeResponse response = new UserChangeResponse();
+        response.setSeq(change.getSeq());
+        response.setUserId(change.getUserId());
+        response.setChangeType(change.getChangeType().name());
+        response.setChangedAt(change.getChangedAt());
+        return response;
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long cursor;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        SseEmitter getEmitter() {
+            return emitter;
+        }
+
+        long getCursor() {
+            return cursor;
+        }
+
+        void setCursor(long cursor) {
+            this.cursor = cursor;
+        }
+
+        boolean isSending() {
+            return sending.get();
+        }
+
+        boolean startSending() {
+            return sending.compareAndSet(false, true);
+        }
+
+        void finishSending() {
+            sending.set(false);
+        }
+    }
+}
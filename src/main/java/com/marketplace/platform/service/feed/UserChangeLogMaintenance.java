@@ -0,0 +1,57 @@
+package com.marketplace.platform.service.feed;
+
+import com.marketplace.platform.config.ChangeFeedProperties;
+import com.marketplace.platform.repository.user.UserChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserChangeLogMaintenance {
+    private final UserChangeRepository userChangeRepository;
+    private final ChangeFeedProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelayString = "${app.change-feed.maintenance-interval-ms:3600000}",
+            fixedDelayString = "${app.change-feed.maintenance-interval-ms:3600000}")
+    public void compactAndExpire() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // Compact and expire in small chunks so no delete holds long locks on the table
+        LocalDateTime compactCutoff = now.minus(properties.getCompactAfter());
+        int compacted = 0;
+        long afterSeq = 0;
+        List<Long> superseded;
+        do {
+            long from = afterSeq;
+            superseded = userChangeRepository.findSupersededSeqs(from, compactCutoff, properties.getDeleteChunkSize());
+            if (!superseded.isEmpty()) {
+                List<Long> chunk = superseded;
+                transactionTemplate.executeWithoutResult(status -> userChangeRepository.deleteAllByIdInBatch(chunk));
+                compacted += chunk.size();
+                afterSeq = chunk.get(chunk.size() - 1);
+            }
+        } while (superseded.size() == properties.getDeleteChunkSize());
+
+        LocalDateTime cutoff = now.minus(properties.getRetention());
+        int expired = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    userChangeRepository.deleteOlderThan(cutoff, properties.getDeleteChunkSize()));
+            expired += deleted;
+        } while (deleted == properties.getDeleteChunkSize());
+
+        log.info("Change log maintenance: compacted {} and expired {} entries", compacted, expired);
+    }
+}
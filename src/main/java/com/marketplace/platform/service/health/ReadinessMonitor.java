@@ -0,0 +1,343 @@
+package com.marketplace.platform.service.health;
+
+import com.marketplace.platform.config.FileStorageProperties;
+import com.marketplace.platform.config.ReadinessProperties;
+import com.marketplace.platform.dto.response.ReadinessResponse;
+import com.marketplace.platform.dto.response.ReadinessResponse.Check;
+import com.marketplace.platform.dto.response.ReadinessResponse.Status;
+import com.marketplace.platform.repository.user.PendingNotificationRepository;
+import com.marketplace.platform.service.event.UserEventBus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Probes the database pools, upload directory, event bus, notification outbox and
+ * mail server on its own threads and keeps the latest results as an immutable
+ * snapshot, so health endpoints never touch a dependency themselves.
+ */
+@Slf4j
+@Component
+public class ReadinessMonitor {
+    public static final String DATABASE = "database";
+    public static final String UPLOAD_DIR = "uploadDir";
+    public static final String EVENT_BUS = "eventBus";
+    public static final String NOTIFICATION_OUTBOX = "notificationOutbox";
+    public static final String SMTP = "smtp";
+
+    private static final byte[] PROBE_BYTES = {'o', 'k'};
+
+    private final List<HikariDataSource> pools;
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final UserEventBus eventBus;
+    private final PendingNotificationRepository pendingNotificationRepository;
+    private final ReadinessProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path uploadDir;
+    private final ScheduledExecutorService executor;
+
+    private volatile ReadinessResponse snapshot;
+    private volatile Check smtpCheck;
+    // Only touched by the probe thread
+    private Boolean lastReady;
+
+    public ReadinessMonitor(List<DataSource> dataSources,
+                            ObjectProvider<JavaMailSender> mailSender,
+                            UserEventBus eventBus,
+                            PendingNotificationRepository pendingNotificationRepository,
+                            ReadinessProperties properties,
+                            FileStorageProperties fileStorageProperties,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry) {
+        Set<HikariDataSource> found = new LinkedHashSet<>();
+        dataSources.forEach(dataSource -> collectPools(dataSource, found));
+        this.pools = List.copyOf(found);
+        this.mailSender = mailSender;
+        this.eventBus = eventBus;
+        this.pendingNotificationRepository = pendingNotificationRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.uploadDir = Paths.get(fileStorageProperties.getUploadDir()).toAbsolutePath().normalize();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "readiness-probe-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("readiness.ready", () -> current().isReady() ? 1 : 0)
+                .description("1 while the instance reports itself ready for traffic")
+                .register(meterRegistry);
+        for (String name : List.of(DATABASE, UPLOAD_DIR, EVENT_BUS, NOTIFICATION_OUTBOX, SMTP)) {
+            Gauge.builder("readiness.check", () -> statusOf(name))
+                    .description("Last probe result: 0 = UP, 1 = DEGRADED, 2 = DOWN")
+                    .tag("check", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::probe, 0, properties.getProbeIntervalMs(), TimeUnit.MILLISECONDS);
+        if (properties.isSmtpEnabled()) {
+            executor.scheduleWithFixedDelay(this::probeSmtp, 0, properties.getSmtpProbeIntervalMs(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Latest snapshot; reported as DOWN when no probe has finished yet or the last
+     * one is older than {@code app.readiness.stale-after}.
+     */
+    public ReadinessResponse current() {
+        ReadinessResponse current = snapshot;
+        if (current == null) {
+            Instant now = Instant.now();
+            return new ReadinessResponse(Status.DOWN, false, now, Map.of("probe",
+                    new Check(Status.DOWN, true, "No probe has completed yet", null, 0L, now)));
+        }
+        if (current.getCheckedAt().isBefore(Instant.now().minus(properties.getStaleAfter()))) {
+            Map<String, Check> checks = new LinkedHashMap<>(current.getChecks());
+            checks.put("probe", new Check(Status.DOWN, true,
+                    "Last probe completed at " + current.getCheckedAt(), null, 0L, current.getCheckedAt()));
+            return new ReadinessResponse(Status.DOWN, false, current.getCheckedAt(), checks);
+        }
+        return current;
+    }
+
+    public Check check(String name) {
+        return current().getChecks().get(name);
+    }
+
+    private void probe() {
+        try {
+            Map<String, Check> checks = new LinkedHashMap<>();
+            checks.put(DATABASE, timed(this::checkDatabase));
+            checks.put(UPLOAD_DIR, timed(this::checkUploadDir));
+            checks.put(EVENT_BUS, timed(this::checkEventBus));
+            checks.put(NOTIFICATION_OUTBOX, timed(this::checkNotificationOutbox));
+            Check smtp = smtpCheck;
+            if (smtp != null) {
+                checks.put(SMTP, smtp);
+            }
+
+            boolean ready = checks.values().stream()
+                    .noneMatch(check -> check.isCritical() && check.getStatus() == Status.DOWN);
+            boolean allUp = checks.values().stream().allMatch(check -> check.getStatus() == Status.UP);
+            Status status = !ready ? Status.DOWN : allUp ? Status.UP : Status.DEGRADED;
+            logChanges(snapshot, checks);
+            snapshot = new ReadinessResponse(status, ready, Instant.now(), Collections.unmodifiableMap(checks));
+            publishTransition(ready, checks);
+        } catch (Throwable e) {
+            // Keep the schedule alive; the snapshot goes stale if this keeps failing
+            log.error("Readiness probe failed", e);
+        }
+    }
+
+    private void probeSmtp() {
+        try {
+            smtpCheck = timed(() -> {
+                JavaMailSender sender = mailSender.getIfAvailable();
+                if (!(sender instanceof JavaMailSenderImpl impl)) {
+                    return result(Status.UP, false, "No SMTP sender configured", null);
+                }
+                try {
+                    impl.testConnection();
+                    return result(Status.UP, properties.isSmtpRequired(), impl.getHost() + ":" + impl.getPort(), null);
+                } catch (Exception e) {
+                    return result(Status.DOWN, properties.isSmtpRequired(), e.getMessage(), null);
+                }
+            });
+        } catch (Throwable e) {
+            log.error("SMTP readiness probe failed", e);
+        }
+    }
+
+    private Check checkDatabase() {
+        Status status = Status.UP;
+        List<String> problems = new ArrayList<>();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (HikariDataSource pool : pools) {
+            String name = pool.getPoolName();
+            int max = pool.getMaximumPoolSize();
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean != null) {
+                int active = mxBean.getActiveConnections();
+                int waiting = mxBean.getThreadsAwaitingConnection();
+                metrics.put(name + ".active", active);
+                metrics.put(name + ".max", max);
+                metrics.put(name + ".waiting", waiting);
+                if ((double) active / max >= properties.getPoolSaturationThreshold()) {
+                    if (waiting > 0) {
+                        status = Status.DOWN;
+                        problems.add(name + " saturated (" + active + "/" + max + " active, " + waiting + " waiting)");
+                    } else {
+                        status = worst(status, Status.DEGRADED);
+                        problems.add(name + " near capacity (" + active + "/" + max + " active)");
+                    }
+                }
+                if (active >= max) {
+                    // Borrowing here would only queue behind the requests already waiting
+                    continue;
+                }
+            }
+            try (Connection connection = pool.getConnection()) {
+                if (!connection.isValid(properties.getDatabaseTimeoutSeconds())) {
+                    status = Status.DOWN;
+                    problems.add(name + " returned an invalid connection");
+                }
+            } catch (Exception e) {
+                status = Status.DOWN;
+                problems.add(name + ": " + e.getMessage());
+            }
+        }
+        return result(status, true, problems.isEmpty() ? null : String.join("; ", problems), metrics);
+    }
+
+    private Check checkUploadDir() {
+        try {
+            Files.createDirectories(uploadDir);
+            Path probe = Files.createTempFile(uploadDir, ".readiness", ".tmp");
+            try {
+                Files.write(probe, PROBE_BYTES);
+            } finally {
+                Files.deleteIfExists(probe);
+            }
+            long usable = Files.getFileStore(uploadDir).getUsableSpace();
+            long minimum = properties.getMinFreeDisk().toBytes();
+            Map<String, Object> metrics = Map.of("usableBytes", usable, "minimumBytes", minimum);
+            if (usable < minimum) {
+                return result(Status.DOWN, true, "Free space below minimum", metrics);
+            }
+            return result(Status.UP, true, null, metrics);
+        } catch (Exception e) {
+            return result(Status.DOWN, true, uploadDir + " is not writable: " + e.getMessage(), null);
+        }
+    }
+
+    private Check checkEventBus() {
+        long capacity = eventBus.capacity();
+        double used = (double) (capacity - eventBus.remainingCapacity()) / capacity;
+        Map<String, Object> metrics = Map.of("capacity", capacity, "used", used);
+        // A full ring buffer drops events, so this is critical
+        if (used > properties.getMaxEventBacklog()) {
+            return result(Status.DOWN, true, "Event backlog above threshold", metrics);
+        }
+        return result(Status.UP, true, null, metrics);
+    }
+
+    private Check checkNotificationOutbox() {
+        try {
+            long pending = pendingNotificationRepository.count();
+            Map<String, Object> metrics = Map.of("pending", pending);
+            if (pending > properties.getMaxPendingNotifications()) {
+                return result(Status.DEGRADED, false, "Notification backlog above threshold", metrics);
+            }
+            return result(Status.UP, false, null, metrics);
+        } catch (Exception e) {
+            return result(Status.DOWN, false, e.getMessage(), null);
+        }
+    }
+
+    // Public endpoints only show statuses, so the details are logged here
+    private static void logChanges(ReadinessResponse previous, Map<String, Check> checks) {
+        checks.forEach((name, check) -> {
+            Check before = previous != null ? previous.getChecks().get(name) : null;
+            Status was = before != null ? before.getStatus() : Status.UP;
+            if (check.getStatus() != Status.UP) {
+                if (was != check.getStatus() || before == null
+                        || !Objects.equals(before.getDetail(), check.getDetail())) {
+                    log.warn("Readiness check {} is {}: {}", name, check.getStatus(), check.getDetail());
+                }
+            } else if (was != Status.UP) {
+                log.info("Readiness check {} recovered", name);
+            }
+        });
+    }
+
+    private void publishTransition(boolean ready, Map<String, Check> checks) {
+        // Spring Boot already marks the context as accepting traffic once it is ready
+        if (lastReady == null ? ready : lastReady == ready) {
+            lastReady = ready;
+            return;
+        }
+        lastReady = ready;
+        if (ready) {
+            log.info("Readiness restored");
+        } else {
+            log.warn("Refusing traffic, failing checks: {}", checks);
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this,
+                ready ? ReadinessState.ACCEPTING_TRAFFIC : ReadinessState.REFUSING_TRAFFIC);
+    }
+
+    private int statusOf(String name) {
+        Check check = check(name);
+        return check != null ? check.getStatus().ordinal() : Status.DOWN.ordinal();
+    }
+
+    private static Check timed(Supplier<Check> probe) {
+        long start = System.nanoTime();
+        Check check = probe.get();
+        check.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return check;
+    }
+
+    private static Check result(Status status, boolean critical, String detail, Map<String, Object> metrics) {
+        return new Check(status, critical, detail, metrics, 0L, Instant.now());
+    }
+
+    private static Status worst(Status a, Status b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static void collectPools(DataSource dataSource, Set<HikariDataSource> pools) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            pools.add(hikari);
+        } else if (dataSource instanceof AbstractRoutingDataSource routing) {
+            routing.getResolvedDataSources().values().forEach(target -> collectPools(target, pools));
+        } else if (dataSource instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            collectPools(delegating.getTargetDataSource(), pools);
+        }
+    }
+}
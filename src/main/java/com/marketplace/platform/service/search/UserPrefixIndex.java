@@ -0,0 +1,280 @@
+package com.marketplace.platform.service.search;
+
+import com.marketplace.platform.config.UserIndexProperties;
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.domain.user.UserStatus;
+import com.marketplace.platform.repository.user.UserIndexRow;
+import com.marketplace.platform.repository.user.UserRepository;
+import com.marketplace.platform.service.event.UserEvent;
+import com.marketplace.platform.service.event.UserEventHandler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory type-ahead over normalized first name, last name and email local
+ * part. The bulk of the terms sit in an immutable snapshot of two parallel
+ * sorted arrays (interned strings, primitive ids), searched by binary search.
+ * Writes from the user event bus go to small skip-list deltas that are merged
+ * into a new snapshot once they grow past app.user-index.compact-threshold.
+ * Deactivated and archived users are dropped. Only the event handler thread
+ * writes; lookups never block.
+ */
+@Slf4j
+@Component
+public class UserPrefixIndex implements UserEventHandler {
+    // Marks users removed while the initial load runs, so the load does not bring them back
+    private static final String[] REMOVED = new String[0];
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final UserIndexProperties properties;
+    private final ShardRouter shardRouter;
+    private final Map<Long, String[]> termsByUser = new ConcurrentHashMap<>();
+    private final NavigableSet<Term> additions = new ConcurrentSkipListSet<>();
+    private final Set<Term> removals = ConcurrentHashMap.newKeySet();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new long[0]);
+    // Compaction waits for the initial load, which also replaces the snapshot
+    private volatile boolean loaded;
+
+    public UserPrefixIndex(UserRepository userRepository,
+                           TransactionTemplate transactionTemplate,
+                           UserIndexProperties properties,
+                           ShardRouter shardRouter,
+                           MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        Gauge.builder("user.index.terms", this, index -> index.snapshot.keys.length + index.additions.size())
+                .description("Terms held by the autocomplete index")
+                .register(meterRegistry);
+    }
+
+    // Returns up to limit user ids with a term starting with the prefix, in term order
+    public List<Long> search(String prefix, int limit) {
+        String from = normalize(prefix);
+        if (from.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String to = from + Character.MAX_VALUE;
+        Set<Long> ids = new LinkedHashSet<>();
+
+        // Walks the snapshot range and the added terms side by side so results stay in term order
+        Snapshot current = snapshot;
+        int i = current.lowerBound(from);
+        Iterator<Term> added = additions.subSet(new Term(from, Long.MIN_VALUE), new Term(to, Long.MIN_VALUE)).iterator();
+        Term nextAdded = added.hasNext() ? added.next() : null;
+        while (ids.size() < limit) {
+            Term nextSnapshot = i < current.keys.length && current.keys[i].compareTo(to) < 0
+                    ? new Term(current.keys[i], current.ids[i])
+                    : null;
+            if (nextSnapshot == null && nextAdded == null) {
+                break;
+            }
+            if (nextSnapshot == null || (nextAdded != null && nextAdded.compareTo(nextSnapshot) <= 0)) {
+                ids.add(nextAdded.userId());
+                nextAdded = added.hasNext() ? added.next() : null;
+            } else {
+                if (removals.isEmpty() || !removals.contains(nextSnapshot)) {
+                    ids.add(nextSnapshot.userId());
+                }
+                i++;
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    @Override
+    public void onEvent(UserEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case USER_REGISTERED, USER_UPDATED, STATUS_CHANGED -> {
+                if (event.getStatus() == UserStatus.INACTIVE) {
+                    remove(event.getUserId());
+                } else {
+                    index(event.getUserId(), event.getFirstName(), event.getLastName(), event.getEmail());
+                }
+            }
+            case USER_DEACTIVATED, USER_ARCHIVED -> remove(event.getUserId());
+            default -> {
+            }
+        }
+        if (endOfBatch && loaded && additions.size() + removals.size() > properties.getCompactThreshold()) {
+            compact();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Thread.ofPlatform().name("user-index-build").daemon().start(this::loadFromDatabase);
+    }
+
+    private void loadFromDatabase() {
+        try {
+            load();
+            loaded = true;
+            termsByUser.values().removeIf(terms -> terms == REMOVED);
+        } catch (RuntimeException e) {
+            log.error("Failed to build the autocomplete index; only users written since startup are searchable", e);
+        }
+    }
+
+    private void load() {
+        List<Term> terms = new ArrayList<>();
+        Map<String, String> interned = new HashMap<>();
+        shardRouter.forEachShard(shard -> loadShard(terms, interned));
+
+        terms.sort(null);
+        snapshot = Snapshot.of(terms);
+        log.info("Autocomplete index built with {} terms for {} users", terms.size(), termsByUser.size());
+    }
+
+    private void loadShard(List<Term> terms, Map<String, String> interned) {
+        long lastUserId = 0;
+        List<UserIndexRow> rows;
+        do {
+            long afterId = lastUserId;
+            rows = readOnlyTransaction.execute(status ->
+                    userRepository.findIndexRowsAfter(afterId, Limit.of(properties.getBuildChunkSize())));
+            for (UserIndexRow row : rows) {
+                String[] userTerms = termsOf(row.firstName(), row.lastName(), row.email());
+                // Events handled while loading are newer than this scan
+                if (termsByUser.putIfAbsent(row.userId(), userTerms) == null) {
+                    for (String key : userTerms) {
+                        terms.add(new Term(interned.computeIfAbsent(key, k -> k), row.userId()));
+                    }
+                }
+                lastUserId = row.userId();
+            }
+        } while (rows.size() == properties.getBuildChunkSize());
+    }
+
+    private void index(Long userId, String firstName, String lastName, String email) {
+        String[] updated = termsOf(firstName, lastName, email);
+        String[] previous = termsByUser.put(userId, updated);
+        if (previous != null) {
+            for (String key : previous) {
+                if (!contains(updated, key)) {
+                    Term term = new Term(key, userId);
+                    additions.remove(term);
+                    removals.add(term);
+                }
+            }
+        }
+        for (String key : updated) {
+            // Terms the user already had are indexed; status changes usually resend them all
+            if (previous == null || !contains(previous, key)) {
+                Term term = new Term(key, userId);
+                removals.remove(term);
+                additions.add(term);
+            }
+        }
+    }
+
+    private void remove(Long userId) {
+        String[] previous = loaded ? termsByUser.remove(userId) : termsByUser.put(userId, REMOVED);
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous) {
+            Term term = new Term(key, userId);
+            additions.remove(term);
+            removals.add(term);
+        }
+    }
+
+    // Runs on the handler thread, the only writer, so no delta changes while merging
+    private void compact() {
+        // Catches markers put by a removal that raced with the end of the initial load
+        termsByUser.values().removeIf(terms -> terms == REMOVED);
+        Snapshot current = snapshot;
+        Map<String, String> interned = new HashMap<>();
+        List<Term> merged = new ArrayList<>(current.keys.length + additions.size());
+        for (int i = 0; i < current.keys.length; i++) {
+            Term term = new Term(current.keys[i], current.ids[i]);
+            if (!removals.contains(term) && !additions.contains(term)) {
+                merged.add(new Term(interned.computeIfAbsent(term.key(), k -> k), term.userId()));
+            }
+        }
+        for (Term term : additions) {
+            merged.add(new Term(interned.computeIfAbsent(term.key(), k -> k), term.userId()));
+        }
+        merged.sort(null);
+
+        snapshot = Snapshot.of(merged);
+        additions.clear();
+        removals.clear();
+    }
+
+    private String[] termsOf(String firstName, String lastName, String email) {
+        String localPart = email != null && email.indexOf('@') > 0 ? email.substring(0, email.indexOf('@')) : email;
+        return Arrays.stream(new String[]{firstName, lastName, localPart})
+                .map(this::normalize)
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > properties.getMaxTermLength()
+                ? normalized.substring(0, properties.getMaxTermLength())
+                : normalized;
+    }
+
+    private static boolean contains(String[] values, String value) {
+        for (String candidate : values) {
+            if (candidate.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Term(String key, long userId) implements Comparable<Term> {
+        @Override
+        public int compareTo(Term other) {
+            int byKey = key.compareTo(other.key);
+            return byKey != 0 ? byKey : Long.compare(userId, other.userId);
+        }
+    }
+
+    private record Snapshot(String[] keys, long[] ids) {
+        static Snapshot of(List<Term> sortedTerms) {
+            String[] keys = new String[sortedTerms.size()];
+            long[] ids = new long[sortedTerms.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = sortedTerms.get(i).key();
+                ids[i] = sortedTerms.get(i).userId();
+            }
+            return new Snapshot(keys, ids);
+        }
+
+        int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
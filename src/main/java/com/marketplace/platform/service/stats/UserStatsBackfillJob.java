@@ -0,0 +1,125 @@
+package com.marketplace.platform.service.stats;
+
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.repository.user.UserArchiveRepository;
+import com.marketplace.platform.repository.user.UserRepository;
+import com.marketplace.platform.repository.user.UserStatsRollupRepository;
+import com.marketplace.platform.repository.user.UserStatsRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the stats rollup from the users and users_archive tables a few
+ * signup days at a time.
+ * Each window is recounted in its own short transaction that first locks the
+ * window's rollup rows, so increments committed by concurrent writes are
+ * either included in the recount or applied on top of it, never lost.
+ */
+@Slf4j
+@Component
+public class UserStatsBackfillJob {
+    private final UserRepository userRepository;
+    private final UserArchiveRepository userArchiveRepository;
+    private final UserStatsRollupRepository rollupRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final int windowDays;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "user-stats-backfill"));
+
+    public UserStatsBackfillJob(UserRepository userRepository,
+                                UserArchiveRepository userArchiveRepository,
+                                UserStatsRollupRepository rollupRepository,
+                                ShardRouter shardRouter,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.user-stats.backfill-window-days:7}") int windowDays) {
+        this.userRepository = userRepository;
+        this.userArchiveRepository = userArchiveRepository;
+        this.rollupRepository = rollupRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.windowDays = windowDays;
+    }
+
+    // Returns false when a backfill is already running
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.error("User stats backfill failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    // Rollup rows live next to their users, so every shard is rebuilt from its own tables
+    private void run() {
+        shardRouter.forEachShard(shard -> rebuildShard());
+    }
+
+    private void rebuildShard() {
+        // Start early enough to also clear buckets that no longer match any user
+        LocalDate today = LocalDate.now();
+        LocalDate first = Stream.of(
+                        userRepository.findFirstCreatedAt().map(LocalDateTime::toLocalDate),
+                        userArchiveRepository.findFirstCreatedAt().map(LocalDateTime::toLocalDate),
+                        rollupRepository.findFirstSignupDate())
+                .flatMap(Optional::stream)
+                .min(Comparator.naturalOrder())
+                .orElse(today);
+        long scanned = 0;
+        for (LocalDate from = first; !from.isAfter(today); from = from.plusDays(windowDays)) {
+            scanned += rebuildWindow(from, from.plusDays(windowDays));
+        }
+        log.info("User stats backfill recounted {} users", scanned);
+    }
+
+    private long rebuildWindow(LocalDate from, LocalDate to) {
+        return transactionTemplate.execute(status -> {
+            // Lock before counting: the count's snapshot then starts after any writer we waited for
+            rollupRepository.resetRange(from, to);
+            LocalDateTime start = from.atStartOfDay();
+            LocalDateTime end = to.atStartOfDay();
+            // Both counts read the same snapshot, so a user archived meanwhile is counted exactly once
+            List<UserStatsRow> rows = new ArrayList<>(userRepository.countStatsRows(start, end));
+            rows.addAll(userArchiveRepository.countStatsRows(start, end));
+            long users = 0;
+            for (UserStatsRow row : rows) {
+                rollupRepository.increment(row.signupDate(), row.status().name(), row.emailVerified(), row.userCount());
+                users += row.userCount();
+            }
+            rollupRepository.deleteEmptyInRange(from, to);
+            return users;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.marketplace.platform.service.stats;
+
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.domain.user.UserStatsBucket;
+import com.marketplace.platform.domain.user.UserStatsRollup;
+import com.marketplace.platform.domain.user.UserStatus;
+import com.marketplace.platform.dto.response.UserStatsResponse;
+import com.marketplace.platform.repository.user.UserStatsRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the per day x status x verified rollup. The record methods join the
+ * caller's transaction so the counters commit or roll back with the user change,
+ * on the user's shard when sharding is enabled.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+    private static final Comparator<UserStatsBucket> BUCKET_ORDER = Comparator
+            .comparing(UserStatsBucket::getSignupDate)
+            .thenComparing(UserStatsBucket::getStatus)
+            .thenComparing(UserStatsBucket::isEmailVerified);
+
+    private final UserStatsRollupRepository rollupRepository;
+    private final ShardRouter shardRouter;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSignup(LocalDateTime createdAt, UserStatus status) {
+        rollupRepository.increment(createdAt.toLocalDate(), status.name(), false, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(LocalDateTime createdAt, boolean emailVerified, UserStatus from, UserStatus to) {
+        if (from == to) {
+            return;
+        }
+        LocalDate signupDate = createdAt.toLocalDate();
+        rollupRepository.increment(signupDate, from.name(), emailVerified, -1);
+        rollupRepository.increment(signupDate, to.name(), emailVerified, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordVerification(LocalDateTime createdAt, UserStatus status) {
+        LocalDate signupDate = createdAt.toLocalDate();
+        rollupRepository.increment(signupDate, status.name(), false, -1);
+        rollupRepository.increment(signupDate, status.name(), true, 1);
+    }
+
+    // Each shard holds the rollup rows of its own users, so the buckets are summed across shards
+    public UserStatsResponse getStats(LocalDate from, LocalDate to) {
+        LocalDate fromDate = from != null ? from : LocalDate.of(1970, 1, 1);
+        LocalDate toDate = to != null ? to : LocalDate.now();
+        Map<UserStatsBucket, Long> counts = new HashMap<>();
+        for (List<UserStatsRollup> shardRollups : shardRouter.scatter(shard ->
+                rollupRepository.findByBucketSignupDateBetweenOrderByBucketSignupDate(fromDate, toDate))) {
+            for (UserStatsRollup rollup : shardRollups) {
+                counts.merge(rollup.getBucket(), rollup.getUserCount(), Long::sum);
+            }
+        }
+        List<Map.Entry<UserStatsBucket, Long>> rollups = new ArrayList<>(counts.entrySet());
+        rollups.sort(Map.Entry.comparingByKey(BUCKET_ORDER));
+
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<LocalDate, Long> perDay = new TreeMap<>();
+        List<UserStatsResponse.Bucket> buckets = new ArrayList<>(rollups.size());
+        long total = 0;
+        long verified = 0;
+
+        for (Map.Entry<UserStatsBucket, Long> rollup : rollups) {
+            long count = rollup.getValue();
+            total += count;
+            if (rollup.getKey().isEmailVerified()) {
+                verified += count;
+            }
+            byStatus.merge(rollup.getKey().getStatus().name(), count, Long::sum);
+            perDay.merge(rollup.getKey().getSignupDate(), count, Long::sum);
+
+            UserStatsResponse.Bucket bucket = new UserStatsResponse.Bucket();
+            bucket.setSignupDate(rollup.getKey().getSignupDate());
+            bucket.setStatus(rollup.getKey().getStatus().name());
+            bucket.setEmailVerified(rollup.getKey().isEmailVerified());
+            bucket.setUserCount(count);
+            buckets.add(bucket);
+        }
+
+        UserStatsResponse response = new UserStatsResponse();
+        response.setTotalUsers(total);
+        response.setVerifiedUsers(verified);
+        response.setUsersByStatus(byStatus);
+        response.setSignupsPerDay(perDay);
+        response.setBuckets(buckets);
+        return response;
+    }
+}
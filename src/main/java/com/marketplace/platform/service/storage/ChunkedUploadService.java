@@ -0,0 +1,398 @@
+package com.marketplace.platform.service.storage;
+
+import com.marketplace.platform.config.FileStorageProperties;
+import com.marketplace.platform.dto.request.ChunkedUploadRequest;
+import com.marketplace.platform.dto.response.ChunkedUploadResponse;
+import com.marketplace.platform.dto.response.UploadChunkResponse;
+import com.marketplace.platform.exception.BadRequestException;
+import com.marketplace.platform.exception.ConflictException;
+import com.marketplace.platform.exception.ResourceNotFoundException;
+import com.marketplace.platform.exception.ServiceUnavailableException;
+import com.marketplace.platform.service.user.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Resumable profile picture uploads. A session preallocates a file next to the
+ * storage directory; chunks are streamed straight from the request into their
+ * offset with positional writes, so they may arrive in any order and in
+ * parallel, and a failed chunk is simply sent again. Commit moves the file into
+ * storage without copying it. Sessions live in memory, so all chunks of an
+ * upload must reach the same instance. Each session holds an open file, so
+ * their number is capped per user and per instance.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final FileStorageService fileStorageService;
+    private final UserService userService;
+    private final FileStorageProperties properties;
+    private final Path partialLocation;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> sessionsPerUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final Timer chunkTimer;
+
+    public ChunkedUploadService(FileStorageService fileStorageService,
+                                UserService userService,
+                                FileStorageProperties properties,
+                                MeterRegistry meterRegistry) throws IOException {
+        this.fileStorageService = fileStorageService;
+        this.userService = userService;
+        this.properties = properties;
+        this.chunkTimer = Timer.builder("storage.upload.chunk")
+                .description("Time spent receiving and writing one upload chunk")
+                .register(meterRegistry);
+
+        // Same file system as the storage directory, so commit is a rename
+        this.partialLocation = Paths.get(properties.getUploadDir(), ".partial").toAbsolutePath().normalize();
+        Files.createDirectories(partialLocation);
+        deleteAbandonedFiles();
+    }
+
+    public ChunkedUploadResponse start(Long userId, ChunkedUploadRequest request) {
+        String extension = extensionOf(request.getFileName());
+        if (request.getTotalSize() > properties.getMaxFileSize()) {
+            throw new BadRequestException("File exceeds the maximum size of " + properties.getMaxFileSize() + " bytes");
+        }
+        // Throws for unknown users, so made-up ids cannot get around the per-user cap
+        userService.getUserVersion(userId);
+        reserveSession(userId);
+
+        String uploadId = UUID.randomUUID().toString();
+        Path file = partialLocation.resolve(uploadId + PARTIAL_SUFFIX);
+        try (RandomAccessFile preallocated = new RandomAccessFile(file.toFile(), "rw")) {
+            preallocated.setLength(request.getTotalSize());
+        } catch (IOException e) {
+            releaseSession(userId);
+            deleteQuietly(file);
+            throw new RuntimeException("Could not start upload", e);
+        }
+
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            UploadSession session = new UploadSession(uploadId, userId, extension, file, channel,
+                    request.getTotalSize(), properties.getUploadChunkSize());
+            sessions.put(uploadId, session);
+            return toResponse(session);
+        } catch (IOException e) {
+            releaseSession(userId);
+            deleteQuietly(file);
+            throw new RuntimeException("Could not start upload", e);
+        }
+    }
+
+    private void reserveSession(Long userId) {
+        if (openSessions.incrementAndGet() > properties.getMaxUploadSessions()) {
+            openSessions.decrementAndGet();
+            throw new ServiceUnavailableException("Too many uploads in progress, retry later");
+        }
+        boolean[] reserved = new boolean[1];
+        sessionsPerUser.compute(userId, (id, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= properties.getMaxUploadSessionsPerUser()) {
+                return count;
+            }
+            reserved[0] = true;
+            return current + 1;
+        });
+        if (!reserved[0]) {
+            openSessions.decrementAndGet();
+            throw new ConflictException("Too many uploads in progress for this user, finish or abort one first");
+        }
+    }
+
+    private void releaseSession(Long userId) {
+        sessionsPerUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        openSessions.decrementAndGet();
+    }
+
+    public ChunkedUploadResponse getStatus(Long userId, String uploadId) {
+        return toResponse(findSession(userId, uploadId));
+    }
+
+    public UploadChunkResponse putChunk(Long userId, String uploadId, int index, InputStream body, String expectedCrc32c) {
+        UploadSession session = findSession(userId, uploadId);
+        if (index < 0 || index >= session.totalChunks) {
+            throw new BadRequestException("Chunk index must be between 0 and " + (session.totalChunks - 1));
+        }
+
+        // Chunks share the read lock; commit and expiry take the write lock
+        if (!session.lock.readLock().tryLock()) {
+            throw new ConflictException("Upload is being committed");
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            if (session.closed) {
+                throw new ResourceNotFoundException("Upload not found");
+            }
+            session.touch();
+
+            long position = (long) index * session.chunkSize;
+            long length = session.chunkLength(index);
+            CRC32C crc = new CRC32C();
+            long written = 0;
+            // Any failure below may have overwritten an earlier good copy, so the chunk has to be resent
+            try (ReadableByteChannel source = Channels.newChannel(new CheckedInputStream(body, crc))) {
+                while (written < length) {
+                    long transferred = session.channel.transferFrom(source, position + written, length - written);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+                if (written != length || body.read() != -1) {
+                    session.markMissing(index);
+                    throw new BadRequestException("Chunk " + index + " must be exactly " + length + " bytes");
+                }
+            } catch (IOException e) {
+                session.markMissing(index);
+                throw new RuntimeException("Could not write chunk", e);
+            }
+
+            String crc32c = Long.toHexString(crc.getValue());
+            if (expectedCrc32c != null && !expectedCrc32c.equalsIgnoreCase(crc32c)) {
+                session.markMissing(index);
+                throw new BadRequestException("Checksum mismatch for chunk " + index);
+            }
+            if (session.received.getAndSet(index, 1) == 0) {
+                session.receivedCount.incrementAndGet();
+            }
+            return new UploadChunkResponse(index, written, crc32c, session.receivedCount.get(), session.totalChunks);
+        } finally {
+            session.lock.readLock().unlock();
+            sample.stop(chunkTimer);
+        }
+    }
+
+    public void commit(Long userId, String uploadId) {
+        UploadSession session = findSession(userId, uploadId);
+        if (!session.lock.writeLock().tryLock()) {
+            throw new ConflictException("Chunks are still being written, retry once they finish");
+        }
+        try {
+            if (session.closed) {
+                throw new ResourceNotFoundException("Upload not found");
+            }
+            List<Integer> missing = session.missingChunks();
+            if (!missing.isEmpty()) {
+                throw new BadRequestException("Upload is missing chunks " + missing);
+            }
+
+            try {
+                session.channel.force(false);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not flush upload", e);
+            }
+            session.close();
+            sessions.remove(uploadId);
+            releaseSession(userId);
+
+            String fileName;
+            try {
+                fileName = fileStorageService.storeFile(session.file, session.extension);
+            } catch (RuntimeException e) {
+                deleteQuietly(session.file);
+                throw e;
+            }
+            try {
+                userService.updateProfilePicture(userId, fileName);
+            } catch (RuntimeException e) {
+                fileStorageService.deleteFile(fileName);
+                throw e;
+            }
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    public void abort(Long userId, String uploadId) {
+        discard(findSession(userId, uploadId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.file-storage.upload-cleanup-interval-ms:60000}")
+    public void expireStaleSessions() {
+        long cutoff = System.currentTimeMillis() - properties.getUploadSessionTtl().toMillis();
+        for (UploadSession session : sessions.values()) {
+            if (session.lastActivityMillis < cutoff && discard(session)) {
+                log.info("Expired upload {} for user {}", session.uploadId, session.userId);
+            }
+        }
+        deleteAbandonedFiles();
+    }
+
+    /*
+     * Removes partial files no session here owns that have not been written for a
+     * whole TTL, e.g. left by a crash. Younger ones may belong to a live session of
+     * another instance sharing the upload directory.
+     */
+    private void deleteAbandonedFiles() {
+        long cutoff = System.currentTimeMillis() - properties.getUploadSessionTtl().toMillis();
+        try (var files = Files.list(partialLocation)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                boolean owned = name.endsWith(PARTIAL_SUFFIX)
+                        && sessions.containsKey(name.substring(0, name.length() - PARTIAL_SUFFIX.length()));
+                if (!owned && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up abandoned uploads in {}", partialLocation, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sessions.values().forEach(this::discard);
+    }
+
+    private boolean discard(UploadSession session) {
+        if (!session.lock.writeLock().tryLock()) {
+            return false;
+        }
+        try {
+            if (session.closed) {
+                return false;
+            }
+            session.close();
+            sessions.remove(session.uploadId);
+            releaseSession(session.userId);
+            deleteQuietly(session.file);
+            return true;
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    private UploadSession findSession(Long userId, String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Upload not found");
+        }
+        return session;
+    }
+
+    private String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot >= 0 ? fileName.substring(dot).toLowerCase(Locale.ROOT) : "";
+        if (Arrays.stream(properties.getAllowedExtensions()).noneMatch(extension::equals)) {
+            throw new BadRequestException("File type not allowed: " + extension);
+        }
+        return extension;
+    }
+
+    private ChunkedUploadResponse toResponse(UploadSession session) {
+        ChunkedUploadResponse response = new ChunkedUploadResponse();
+        response.setUploadId(session.uploadId);
+        response.setTotalSize(session.totalSize);
+        response.setChunkSize(session.chunkSize);
+        response.setTotalChunks(session.totalChunks);
+        response.setReceivedChunks(session.receivedCount.get());
+        response.setMissingChunks(session.missingChunks());
+        response.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(
+                session.lastActivityMillis + properties.getUploadSessionTtl().toMillis() - System.currentTimeMillis())));
+        return response;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete partial upload {}", file, e);
+        }
+    }
+
+    private static class UploadSession {
+        final String uploadId;
+        final Long userId;
+        final String extension;
+        final Path file;
+        final FileChannel channel;
+        final long totalSize;
+        final int chunkSize;
+        final int totalChunks;
+        final AtomicIntegerArray received;
+        final AtomicInteger receivedCount = new AtomicInteger();
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        volatile long lastActivityMillis = System.currentTimeMillis();
+        volatile boolean closed;
+
+        UploadSession(String uploadId, Long userId, String extension, Path file, FileChannel channel,
+                      long totalSize, int chunkSize) {
+            this.uploadId = uploadId;
+            this.userId = userId;
+            this.extension = extension;
+            this.file = file;
+            this.channel = channel;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.received = new AtomicIntegerArray(totalChunks);
+        }
+
+        long chunkLength(int index) {
+            return index < totalChunks - 1 ? chunkSize : totalSize - (long) index * chunkSize;
+        }
+
+        List<Integer> missingChunks() {
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 0; i < totalChunks; i++) {
+                if (received.get(i) == 0) {
+                    missing.add(i);
+                }
+            }
+            return missing;
+        }
+
+        void markMissing(int index) {
+            if (received.getAndSet(index, 0) == 1) {
+                receivedCount.decrementAndGet();
+            }
+        }
+
+        void touch() {
+            lastActivityMillis = System.currentTimeMillis();
+        }
+
+        void close() {
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close upload {}", uploadId, e);
+            }
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.marketplace.platform.service.storage;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 public interface FileStorageService {
     String storeFile(MultipartFile file);
+    String storeFile(Path source, String extension);
     void deleteFile(String fileName);
 }
\ No newline at end of file
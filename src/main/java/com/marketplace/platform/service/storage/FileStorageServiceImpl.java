@@ -1,6 +1,9 @@
 package com.marketplace.platform.service.storage;
 
 import com.marketplace.platform.service.storage.FileStorageService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,10 +19,24 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class FileStorageServiceImpl implements FileStorageService {
     private final Path fileStorageLocation;
+    private final Timer storeTimer;
+    private final Timer deleteTimer;
+    private final DistributionSummary storedBytes;
 
-    public FileStorageServiceImpl(@Value("${app.file-storage.upload-dir:uploads}") String uploadDir) {
+    public FileStorageServiceImpl(@Value("${app.file-storage.upload-dir:uploads}") String uploadDir,
+                                  MeterRegistry meterRegistry) {
         this.fileStorageLocation = Paths.get(uploadDir)
                 .toAbsolutePath().normalize();
+        this.storeTimer = Timer.builder("storage.store")
+                .description("Time spent writing uploaded files to disk")
+                .register(meterRegistry);
+        this.deleteTimer = Timer.builder("storage.delete")
+                .description("Time spent deleting stored files")
+                .register(meterRegistry);
+        this.storedBytes = DistributionSummary.builder("storage.store.bytes")
+                .description("Size of stored files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
 
         try {
             Files.createDirectories(this.fileStorageLocation);
@@ -36,6 +53,7 @@ public class FileStorageServiceImpl implements FileStorageService {
             throw new IllegalArgumentException("File cannot be null or empty");
         }
 
+        Timer.Sample sample = Timer.start();
         try {
             // Generate unique filename
             String originalFilename = file.getOriginalFilename();
@@ -45,13 +63,36 @@ public class FileStorageServiceImpl implements FileStorageService {
 
             // Store the file
             Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            long bytes = Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            storedBytes.record(bytes);
 
             log.info("Successfully stored file: {}", fileName);
             return fileName;
         } catch (IOException ex) {
             log.error("Failed to store file", ex);
             throw new RuntimeException("Could not store file. Please try again!", ex);
+        } finally {
+            sample.stop(storeTimer);
+        }
+    }
+
+    // Moves a fully written file into storage; the source must be on the same file system
+    @Override
+    public String storeFile(Path source, String extension) {
+        Timer.Sample sample = Timer.start();
+        try {
+            String fileName = UUID.randomUUID().toString() + extension;
+            long bytes = Files.size(source);
+            Files.move(source, this.fileStorageLocation.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+            storedBytes.record(bytes);
+
+            log.info("Successfully stored file: {}", fileName);
+            return fileName;
+        } catch (IOException ex) {
+            log.error("Failed to store file", ex);
+            throw new RuntimeException("Could not store file. Please try again!", ex);
+        } finally {
+            sample.stop(storeTimer);
         }
     }
 
@@ -62,6 +103,7 @@ public class FileStorageServiceImpl implements FileStorageService {
             return;
         }
 
+        Timer.Sample sample = Timer.start();
         try {
             Path filePath = this.fileStorageLocation.resolve(fileName);
             boolean deleted = Files.deleteIfExists(filePath);
@@ -72,6 +114,8 @@ public class FileStorageServiceImpl implements FileStorageService {
             }
         } catch (IOException ex) {
             log.error("Error deleting file: {}", fileName, ex);
+        } finally {
+            sample.stop(deleteTimer);
         }
     }
 }
\ No newline at end of file
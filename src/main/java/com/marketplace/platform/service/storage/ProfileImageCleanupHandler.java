@@ -0,0 +1,21 @@
+package com.marketplace.platform.service.storage;
+
+import com.marketplace.platform.service.event.UserEvent;
+import com.marketplace.platform.service.event.UserEventHandler;
+import com.marketplace.platform.service.event.UserEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Removes a replaced profile picture only once the new one is committed
+@Component
+@RequiredArgsConstructor
+public class ProfileImageCleanupHandler implements UserEventHandler {
+    private final FileStorageService fileStorageService;
+
+    @Override
+    public void onEvent(UserEvent event, long sequence, boolean endOfBatch) {
+        if (event.getType() == UserEventType.PROFILE_PICTURE_CHANGED && event.getPreviousValue() != null) {
+            fileStorageService.deleteFile(event.getPreviousValue());
+        }
+    }
+}
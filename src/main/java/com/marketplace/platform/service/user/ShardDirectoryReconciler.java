@@ -0,0 +1,120 @@
+package com.marketplace.platform.service.user;
+
+import com.marketplace.platform.config.shard.ShardDirectory;
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.config.shard.ShardingProperties;
+import com.marketplace.platform.repository.user.UserArchiveRepository;
+import com.marketplace.platform.repository.user.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases directory reservations that no user on their shard, live or archived,
+ * holds. Reservations are written before the shard transaction and undone after
+ * it, so a crash in between would otherwise block the email for good.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardDirectoryReconciler {
+    private final ShardDirectory shardDirectory;
+    private final ShardRouter shardRouter;
+    private final UserRepository userRepository;
+    private final UserArchiveRepository userArchiveRepository;
+    private final ShardingProperties properties;
+    private final Counter releasedReservations;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "shard-directory-reconciler"));
+
+    public ShardDirectoryReconciler(ShardDirectory shardDirectory,
+                                    ShardRouter shardRouter,
+                                    UserRepository userRepository,
+                                    UserArchiveRepository userArchiveRepository,
+                                    ShardingProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.shardDirectory = shardDirectory;
+        this.shardRouter = shardRouter;
+        this.userRepository = userRepository;
+        this.userArchiveRepository = userArchiveRepository;
+        this.properties = properties;
+        this.releasedReservations = Counter.builder("shard.directory.released")
+                .description("Stale directory reservations without a user on their shard")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long intervalMs = properties.getReconcileInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::runSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runSafely() {
+        try {
+            releaseStaleReservations();
+        } catch (RuntimeException e) {
+            log.error("Reconciling the shard directory failed", e);
+        }
+    }
+
+    public int releaseStaleReservations() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getStaleReservationAfter());
+        int total = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int target = shard;
+            total += shardRouter.onShard(shard, () -> reconcileShard(target, cutoff));
+        }
+        if (total > 0) {
+            log.warn("Released {} shard directory reservations without a user", total);
+        }
+        return total;
+    }
+
+    private int reconcileShard(int shard, LocalDateTime cutoff) {
+        int total = 0;
+        String afterEmail = "";
+        while (true) {
+            List<String> emails = shardDirectory.findReservedBefore(shard, cutoff, afterEmail,
+                    properties.getReconcileBatchSize());
+            if (emails.isEmpty()) {
+                return total;
+            }
+            // MySQL compares emails case-insensitively, so match them the same way here
+            Set<String> held = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            held.addAll(userRepository.findExistingEmails(emails));
+            held.addAll(userArchiveRepository.findExistingEmails(emails));
+            List<String> orphaned = new ArrayList<>();
+            for (String email : emails) {
+                if (!held.contains(email)) {
+                    orphaned.add(email);
+                }
+            }
+            int released = shardDirectory.releaseStale(shard, orphaned, cutoff);
+            releasedReservations.increment(released);
+            total += released;
+            if (emails.size() < properties.getReconcileBatchSize()) {
+                return total;
+            }
+            afterEmail = emails.get(emails.size() - 1);
+        }
+    }
+}
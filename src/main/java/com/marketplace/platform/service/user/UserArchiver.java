@@ -0,0 +1,135 @@
+package com.marketplace.platform.service.user;
+
+import com.marketplace.platform.config.ArchiveProperties;
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.domain.user.UserChangeType;
+import com.marketplace.platform.repository.user.UserArchiveRepository;
+import com.marketplace.platform.service.event.UserEventBus;
+import com.marketplace.platform.service.feed.UserChangeFeedService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves users that have been INACTIVE past the retention period, with their
+ * tokens, into the archive tables. Each batch is its own short transaction and
+ * batches are spaced out so the job never competes with live traffic for locks.
+ * The pauses happen on the archiver's own thread, not the shared scheduler.
+ */
+@Slf4j
+@Component
+public class UserArchiver {
+    private final UserArchiveRepository userArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final ShardRouter shardRouter;
+    private final UserChangeFeedService changeFeed;
+    private final UserEventBus userEventBus;
+    private final Counter archivedUsers;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> new Thread(runnable, "user-archiver"));
+
+    public UserArchiver(UserArchiveRepository userArchiveRepository,
+                        TransactionTemplate transactionTemplate,
+                        ArchiveProperties properties,
+                        ShardRouter shardRouter,
+                        UserChangeFeedService changeFeed,
+                        UserEventBus userEventBus,
+                        MeterRegistry meterRegistry) {
+        this.userArchiveRepository = userArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.changeFeed = changeFeed;
+        this.userEventBus = userEventBus;
+        this.archivedUsers = Counter.builder("user.archive.archived")
+                .description("Users moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.isEnabled()) {
+            executor.scheduleWithFixedDelay(this::runSafely, properties.getIntervalMs(),
+                    properties.getIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runSafely() {
+        try {
+            archiveInactiveUsers();
+        } catch (RuntimeException e) {
+            log.error("Archiving inactive users failed", e);
+        }
+    }
+
+    public void archiveInactiveUsers() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int total = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            total += shardRouter.onShard(shard, () -> archiveShard(cutoff));
+        }
+        if (total > 0) {
+            log.info("Archived {} inactive users", total);
+        }
+    }
+
+    private int archiveShard(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            List<Long> userIds = userArchiveRepository.findArchivableUserIds(cutoff, properties.getBatchSize());
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(userIds, cutoff));
+            total += archived != null ? archived : 0;
+            if (userIds.size() < properties.getBatchSize()) {
+                break;
+            }
+            try {
+                Thread.sleep(properties.getBatchPauseMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int archiveBatch(List<Long> userIds, LocalDateTime cutoff) {
+        LocalDateTime now = LocalDateTime.now();
+        int archived = userArchiveRepository.copyUsersToArchive(userIds, cutoff, now);
+        if (archived == 0) {
+            return 0;
+        }
+        // Tokens reference users, so they move first
+        userArchiveRepository.copyVerificationTokensToArchive(userIds, now);
+        userArchiveRepository.copyPasswordResetTokensToArchive(userIds, now);
+        userArchiveRepository.deleteArchivedVerificationTokens(userIds);
+        userArchiveRepository.deleteArchivedPasswordResetTokens(userIds);
+        userArchiveRepository.deleteArchivedUsers(userIds);
+        // Candidates reactivated since the scan were skipped by the copy, so report only what moved
+        for (Long userId : userArchiveRepository.findArchivedUserIds(userIds)) {
+            changeFeed.record(userId, UserChangeType.ARCHIVED);
+            userEventBus.userArchived(userId);
+        }
+        archivedUsers.increment(archived);
+        return archived;
+    }
+}
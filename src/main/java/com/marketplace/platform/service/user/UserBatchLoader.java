@@ -0,0 +1,80 @@
+package com.marketplace.platform.service.user;
+
+import com.marketplace.platform.config.datasource.ReadYourWritesTracker;
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.domain.user.User;
+import com.marketplace.platform.repository.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Loads many users with a single IN query. Concurrent callers asking for the
+ * same id share one load instead of each querying for it.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserBatchLoader {
+    private final UserRepository userRepository;
+    private final ReadYourWritesTracker readYourWrites;
+    private final ShardRouter shardRouter;
+    private final ConcurrentMap<Long, CompletableFuture<User>> inFlight = new ConcurrentHashMap<>();
+
+    // Returns the users found, keyed by id; ids without a user are absent from the map
+    public Map<Long, User> loadAll(Collection<Long> userIds) {
+        Map<Long, CompletableFuture<User>> owned = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<User>> joined = new HashMap<>();
+
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            CompletableFuture<User> future = new CompletableFuture<>();
+            CompletableFuture<User> existing = inFlight.putIfAbsent(userId, future);
+            if (existing == null) {
+                owned.put(userId, future);
+            } else {
+                joined.put(userId, existing);
+            }
+        }
+
+        Map<Long, User> result = new HashMap<>();
+        if (!owned.isEmpty()) {
+            try {
+                List<User> users = findAll(owned.keySet());
+                for (User user : users) {
+                    result.put(user.getUserId(), user);
+                }
+                owned.forEach((userId, future) -> future.complete(result.get(userId)));
+            } catch (RuntimeException e) {
+                owned.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        joined.forEach((userId, future) -> {
+            User user = future.join();
+            if (user != null) {
+                result.put(userId, user);
+            }
+        });
+        return result;
+    }
+
+    private List<User> findAll(Set<Long> userIds) {
+        List<User> users = new ArrayList<>(userIds.size());
+        shardRouter.groupByShard(userIds).forEach((shard, shardUserIds) ->
+                users.addAll(shardRouter.onShard(shard, () -> findOnShard(shardUserIds))));
+        return users;
+    }
+
+    private List<User> findOnShard(List<Long> userIds) {
+        boolean recentlyWritten = userIds.stream().anyMatch(readYourWrites::isRecentlyWritten);
+        return recentlyWritten
+                ? readYourWrites.onPrimary(() -> userRepository.findAllById(userIds))
+                : userRepository.findAllById(userIds);
+    }
+}
@@ -3,21 +3,29 @@ package com.marketplace.platform.service.user;
 import com.marketplace.platform.domain.user.User;
 import com.marketplace.platform.domain.user.UserStatus;
 import com.marketplace.platform.dto.request.*;
+import com.marketplace.platform.dto.response.UserBatchResponse;
 import com.marketplace.platform.dto.response.UserResponse;
+import com.marketplace.platform.repository.user.UserVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 public interface UserService {
     // Essential CRUD operations
     UserResponse registerUser(UserRegistrationRequest request);
     UserResponse getUserById(Long userId);
+    UserVersion getUserVersion(Long userId);
+    UserBatchResponse getUsersByIds(List<Long> userIds);
     UserResponse updateUser(Long userId, UserUpdateRequest request);
 
     void deleteUser(Long userId);
+    UserResponse restoreUser(Long userId);
 
     // Authentication related
     UserResponse getUserByEmail(String email);
+    UserVersion getUserVersionByEmail(String email);
     boolean isEmailTaken(String email);
     void verifyEmail(String token);
 
@@ -28,6 +36,7 @@ public interface UserService {
 
     // User search and filtering
     Page<UserResponse> getAllUsers(UserSearchCriteria criteria, Pageable pageable);
+    List<UserResponse> autocomplete(String prefix, int limit);
 
     // Status management
     void updateUserStatus(Long userId, UserStatus status);
@@ -35,4 +44,5 @@ public interface UserService {
     // Profile management
     UserResponse updateProfile(Long userId, UpdateProfileRequest request);
     void updateProfilePicture(Long userId, ProfilePictureRequest request);
+    void updateProfilePicture(Long userId, String storedFileName);
 }
@@ -1,33 +1,64 @@
 package com.marketplace.platform.service.user;
 
+import com.marketplace.platform.config.UserIndexProperties;
+import com.marketplace.platform.config.async.BulkheadTask;
+import com.marketplace.platform.config.datasource.ReadYourWritesTracker;
+import com.marketplace.platform.config.retry.OptimisticRetryExecutor;
+import com.marketplace.platform.config.shard.ShardContext;
+import com.marketplace.platform.config.shard.ShardDirectory;
+import com.marketplace.platform.config.shard.ShardKey;
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.config.shard.ShardedPages;
+import com.marketplace.platform.domain.user.ArchivedUser;
 import com.marketplace.platform.domain.user.User;
+import com.marketplace.platform.domain.user.UserChangeType;
 import com.marketplace.platform.domain.user.UserStatus;
 import com.marketplace.platform.domain.user.VerificationToken;
 import com.marketplace.platform.domain.user.PasswordResetToken;
 import com.marketplace.platform.dto.request.*;
+import com.marketplace.platform.dto.response.UserBatchResponse;
 import com.marketplace.platform.dto.response.UserResponse;
 import com.marketplace.platform.exception.BadRequestException;
+import com.marketplace.platform.exception.ConflictException;
 import com.marketplace.platform.exception.ResourceNotFoundException;
+import com.marketplace.platform.repository.user.UserAccount;
+import com.marketplace.platform.repository.user.UserArchiveRepository;
 import com.marketplace.platform.repository.user.UserRepository;
+import com.marketplace.platform.repository.user.UserVersion;
 import com.marketplace.platform.repository.user.VerificationTokenRepository;
 import com.marketplace.platform.repository.user.PasswordResetTokenRepository;
 import com.marketplace.platform.service.email.EmailService;
+import com.marketplace.platform.service.event.UserEventBus;
+import com.marketplace.platform.service.feed.UserChangeFeedService;
+import com.marketplace.platform.service.search.UserPrefixIndex;
+import com.marketplace.platform.service.stats.UserStatsService;
 import com.marketplace.platform.service.storage.FileStorageService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 
 @Slf4j
 @Service
+@Timed(value = "user.service", description = "Time spent in UserService operations")
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
@@ -36,14 +67,21 @@ public class UserServiceImpl implements UserService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final EmailService emailService;
     private final FileStorageService fileStorageService;
+    private final ReadYourWritesTracker readYourWrites;
+    private final UserBatchLoader userBatchLoader;
+    private final UserEventBus userEventBus;
+    private final UserChangeFeedService changeFeed;
+    private final UserStatsService userStats;
+    private final UserPrefixIndex userPrefixIndex;
+    private final UserArchiveRepository userArchiveRepository;
+    private final UserIndexProperties userIndexProperties;
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+    private final OptimisticRetryExecutor optimisticRetry;
 
     @Override
     @Transactional
-    public UserResponse registerUser(UserRegistrationRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new BadRequestException("Email already registered");
-        }
-
+    public UserResponse registerUser(@ShardKey(ShardKey.Source.NEW_USER) UserRegistrationRequest request) {
         User user = new User();
         user.setEmail(request.getEmail());
         user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
@@ -51,86 +89,119 @@ public class UserServiceImpl implements UserService {
         user.setLastName(request.getLastName());
         user.setPhone(request.getPhone());
 
-        User savedUser = userRepository.save(user);
+        // The unique index on users.email rejects duplicates, including concurrent signups
+        claimEmail(user.getEmail(), null, "Email already registered");
+        User savedUser = saveUniqueEmail(user, "Email already registered");
+        recordWrite(savedUser);
 
         VerificationToken verificationToken = new VerificationToken();
         verificationToken.setUser(savedUser);
-        verificationToken.setToken(UUID.randomUUID().toString());
+        verificationToken.setToken(shardRouter.newToken());
         verificationTokenRepository.save(verificationToken);
+        changeFeed.record(savedUser.getUserId(), UserChangeType.CREATED);
+        userStats.recordSignup(savedUser.getCreatedAt(), savedUser.getStatus());
 
-        // Send verification email
-        try {
-            emailService.sendVerificationEmail(
-                    savedUser.getEmail(),
-                    verificationToken.getToken(),
-                    savedUser.getFirstName()
-            );
-        } catch (MessagingException e) {
-            // Log the error but don't stop the registration process
-            // You might want to implement a retry mechanism
-            log.error("Failed to send verification email", e);
-        }
-
+        // The verification email is sent by the notification handler once this commits
+        userEventBus.userRegistered(savedUser, verificationToken.getToken());
 
         return mapToUserResponse(savedUser);
     }
 
     @Override
-    public UserResponse getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+    @Transactional(readOnly = true)
+    public UserResponse getUserByEmail(@ShardKey(ShardKey.Source.EMAIL) String email) {
+        return readYourWrites.readAfterWrite(email, () -> userRepository.findByEmail(email)
                 .map(this::mapToUserResponse)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email)));
     }
 
     @Override
-    public boolean isEmailTaken(String email) {
-        return userRepository.existsByEmail(email);
+    @Transactional(readOnly = true)
+    public UserVersion getUserVersionByEmail(@ShardKey(ShardKey.Source.EMAIL) String email) {
+        return readYourWrites.readAfterWrite(email, () -> userRepository.findVersionByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email)));
     }
 
     @Override
-    @Transactional
-    public void verifyEmail(String token) {
-        VerificationToken verificationToken = verificationTokenRepository.findByToken(token);
+    @Transactional(readOnly = true)
+    public boolean isEmailTaken(@ShardKey(ShardKey.Source.EMAIL) String email) {
+        return readYourWrites.readAfterWrite(email, () -> userRepository.existsByEmail(email));
+    }
 
-        if (verificationToken == null) {
-            throw new BadRequestException("Invalid verification token");
+    @Override
+    @Transactional
+    public void verifyEmail(@ShardKey(ShardKey.Source.TOKEN) String token) {
+        UserAccount account = verificationTokenRepository.findAccountByToken(token)
+                .orElseThrow(() -> new BadRequestException("Invalid verification token"));
+
+        // Consuming the token checks used/expiry in the same statement
+        LocalDateTime now = LocalDateTime.now();
+        if (verificationTokenRepository.markUsed(token, now) == 0) {
+            VerificationToken verificationToken = verificationTokenRepository.findByToken(token);
+            throw new BadRequestException(verificationToken != null && verificationToken.isUsed()
+                    ? "Token already used"
+                    : "Token has expired");
         }
 
-        if (verificationToken.isUsed()) {
-            throw new BadRequestException("Token already used");
+        if (userRepository.markEmailVerified(account.userId(), account.version(), now) == 0) {
+            throw new ConflictException("User was modified concurrently, please retry");
         }
-
-        if (verificationToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("Token has expired");
+        if (!account.emailVerified()) {
+            userStats.recordVerification(account.createdAt(), account.status());
         }
-
-        User user = verificationToken.getUser();
-        user.setEmailVerified(true);
-        userRepository.save(user);
-
-        verificationToken.setUsed(true);
-        verificationTokenRepository.save(verificationToken);
+        recordWrite(account);
+        changeFeed.record(account.userId(), UserChangeType.EMAIL_VERIFIED);
     }
 
     @Override
-    public UserResponse getUserById(Long userId) {
-        User user = findUserById(userId);
-        return mapToUserResponse(user);
+    @Transactional(readOnly = true)
+    public UserResponse getUserById(@ShardKey Long userId) {
+        return readYourWrites.readAfterWrite(userId, () -> userRepository.findById(userId)
+                .map(this::mapToUserResponse)
+                .or(() -> userArchiveRepository.findById(userId).map(this::mapToUserResponse))
+                .orElseThrow(() -> new ResourceNotFoundException("User not found")));
     }
 
     @Override
-    @Transactional
-    public UserResponse updateUser(Long userId, UserUpdateRequest request) {
-        User user = findUserById(userId);
-
-        if (request.getEmail() != null && !request.getEmail().equals(user.getEmail()) &&
-                userRepository.existsByEmail(request.getEmail())) {
-            throw new BadRequestException("Email already in use");
+    public UserBatchResponse getUsersByIds(List<Long> userIds) {
+        Map<Long, User> users = userBatchLoader.loadAll(userIds);
+
+        List<UserResponse> found = new ArrayList<>(users.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            User user = users.get(userId);
+            if (user != null) {
+                found.add(mapToUserResponse(user));
+            } else {
+                missingIds.add(userId);
+            }
         }
+        return new UserBatchResponse(found, missingIds);
+    }
 
-        updateUserFields(user, request);
-        User updatedUser = userRepository.save(user);
-        return mapToUserResponse(updatedUser);
+    @Override
+    @Transactional(readOnly = true)
+    public UserVersion getUserVersion(@ShardKey Long userId) {
+        return readYourWrites.readAfterWrite(userId, () -> userRepository.findVersionByUserId(userId)
+                .or(() -> userArchiveRepository.findVersionByUserId(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("User not found")));
+    }
+
+    // The update methods below re-apply their changes to the latest row when a concurrent write wins
+    @Override
+    public UserResponse updateUser(@ShardKey Long userId, UserUpdateRequest request) {
+        return optimisticRetry.execute("updateUser", () -> {
+            User user = findUserById(userId);
+            String previousEmail = user.getEmail();
+
+            updateUserFields(user, request);
+            claimEmail(user.getEmail(), previousEmail, "Email already in use");
+            User updatedUser = saveUniqueEmail(user, "Email already in use");
+            recordWrite(updatedUser);
+            changeFeed.record(userId, UserChangeType.UPDATED);
+            userEventBus.userUpdated(updatedUser, previousEmail);
+            return mapToUserResponse(updatedUser);
+        });
     }
 
     private void updateUserFields(User user, UserUpdateRequest request) {
@@ -150,16 +221,53 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
-    public void deleteUser(Long userId) {
+    public void deleteUser(@ShardKey Long userId) {
+        UserAccount account = findAccountById(userId);
+        if (userRepository.updateStatus(userId, UserStatus.INACTIVE, account.version(), LocalDateTime.now()) == 0) {
+            throw new ConflictException("User was modified concurrently, please retry");
+        }
+        userStats.recordStatusChange(account.createdAt(), account.emailVerified(), account.status(), UserStatus.INACTIVE);
+        recordWrite(account);
+        changeFeed.record(userId, UserChangeType.DEACTIVATED);
+        userEventBus.userDeactivated(userId);
+    }
+
+    @Override
+    @Transactional
+    public UserResponse restoreUser(@ShardKey Long userId) {
+        if (!userArchiveRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Archived user not found");
+        }
+        try {
+            userArchiveRepository.restoreUser(userId, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("The email address now belongs to another account");
+        }
+        userArchiveRepository.restoreVerificationTokens(userId);
+        userArchiveRepository.restorePasswordResetTokens(userId);
+        userArchiveRepository.deleteVerificationTokensFromArchive(userId);
+        userArchiveRepository.deletePasswordResetTokensFromArchive(userId);
+        userArchiveRepository.deleteUserFromArchive(userId);
+
+        // Restored still INACTIVE, with a fresh updated_at so the retention period starts over;
+        // reactivation goes through the status endpoint
         User user = findUserById(userId);
-        user.setStatus(UserStatus.INACTIVE);
-        userRepository.save(user);
+        recordWrite(user);
+        changeFeed.record(userId, UserChangeType.UPDATED);
+        userEventBus.userUpdated(user, user.getEmail());
+        return mapToUserResponse(user);
     }
 
     @Override
     public Page<UserResponse> getAllUsers(UserSearchCriteria criteria, Pageable pageable) {
+        Pageable shardPageable = shardRouter.shardCount() > 1 ? ShardedPages.shardPageable(pageable) : pageable;
+        List<Page<User>> pages = shardRouter.scatter(shard -> findUsers(criteria, shardPageable));
+        return ShardedPages.merge(pages, pageable).map(this::mapToUserResponse);
+    }
+
+    private Page<User> findUsers(UserSearchCriteria criteria, Pageable pageable) {
         if (criteria == null) {
-            return userRepository.findAll(pageable).map(this::mapToUserResponse);
+            return userRepository.findAll(pageable);
         }
 
         return userRepository.searchUsers(
@@ -168,58 +276,89 @@ public class UserServiceImpl implements UserService {
                 LocalDateTime.parse(criteria.getStartDate()),
                 LocalDateTime.parse(criteria.getEndDate()),
                 pageable
-        ).map(this::mapToUserResponse);
+        );
     }
 
     @Override
-    @Transactional
-    public void updateUserStatus(Long userId, UserStatus status) {
-        User user = findUserById(userId);
-        user.setStatus(status);
-        userRepository.save(user);
-
-        try {
-            emailService.sendStatusChangeNotification(
-                    user.getEmail(),
-                    user.getFirstName(),
-                    status.name()
-            );
-        } catch (MessagingException e) {
-            log.error("Failed to send status change notification", e);
+    public List<UserResponse> autocomplete(String prefix, int limit) {
+        List<Long> userIds = userPrefixIndex.search(prefix, Math.min(limit, userIndexProperties.getMaxResults()));
+        if (userIds.isEmpty()) {
+            return List.of();
         }
+        Map<Long, User> users = userBatchLoader.loadAll(userIds);
+        return userIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToUserResponse)
+                .toList();
     }
 
     @Override
-    @Transactional
-    public UserResponse updateProfile(Long userId, UpdateProfileRequest request) {
-        User user = findUserById(userId);
+    public void updateUserStatus(@ShardKey Long userId, UserStatus status) {
+        optimisticRetry.run("updateUserStatus", () -> {
+            UserAccount account = findAccountById(userId);
+            if (userRepository.updateStatus(userId, status, account.version(), LocalDateTime.now()) == 0) {
+                throw new OptimisticLockingFailureException("User " + userId + " was modified concurrently");
+            }
+            userStats.recordStatusChange(account.createdAt(), account.emailVerified(), account.status(), status);
+            recordWrite(account);
+            changeFeed.record(userId, UserChangeType.STATUS_CHANGED);
+            userEventBus.statusChanged(userId, account.email(), account.firstName(), account.lastName(),
+                    status, account.status());
+        });
+    }
 
-        if (!user.getEmail().equals(request.getEmail()) &&
-                userRepository.existsByEmail(request.getEmail())) {
-            throw new BadRequestException("Email already in use");
-        }
+    @Override
+    public UserResponse updateProfile(@ShardKey Long userId, UpdateProfileRequest request) {
+        return optimisticRetry.execute("updateProfile", () -> {
+            User user = findUserById(userId);
+            String previousEmail = user.getEmail();
 
-        user.setEmail(request.getEmail());
-        user.setFirstName(request.getFirstName());
-        user.setLastName(request.getLastName());
-        user.setPhone(request.getPhone());
+            user.setEmail(request.getEmail());
+            user.setFirstName(request.getFirstName());
+            user.setLastName(request.getLastName());
+            user.setPhone(request.getPhone());
 
-        return mapToUserResponse(userRepository.save(user));
+            claimEmail(user.getEmail(), previousEmail, "Email already in use");
+            User updatedUser = saveUniqueEmail(user, "Email already in use");
+            recordWrite(updatedUser);
+            changeFeed.record(userId, UserChangeType.UPDATED);
+            userEventBus.userUpdated(updatedUser, previousEmail);
+            return mapToUserResponse(updatedUser);
+        });
     }
 
 
     @Override
-    @Transactional
-    public void updateProfilePicture(Long userId, ProfilePictureRequest request) {
-        User user = findUserById(userId);
-
-        if (user.getProfileImage() != null) {
-            fileStorageService.deleteFile(user.getProfileImage());
+    public void updateProfilePicture(@ShardKey Long userId, ProfilePictureRequest request) {
+        // Stored once outside the retried transaction, and removed again if the update never commits
+        String storedFileName = fileStorageService.storeFile(request.getFile());
+        try {
+            updateProfilePicture(userId, storedFileName);
+        } catch (RuntimeException e) {
+            fileStorageService.deleteFile(storedFileName);
+            throw e;
         }
+    }
+
+    @Override
+    public void updateProfilePicture(@ShardKey Long userId, String storedFileName) {
+        // The previous image is re-read on every attempt, so only the committed one is deleted
+        optimisticRetry.run("updateProfilePicture",
+                () -> setProfileImage(findUserById(userId), storedFileName));
+    }
+
+    private void setProfileImage(User user, String fileUrl) {
+        Long userId = user.getUserId();
+        String previousProfileImage = user.getProfileImage();
 
-        String fileUrl = fileStorageService.storeFile(request.getFile());
         user.setProfileImage(fileUrl);
         userRepository.save(user);
+        recordWrite(user);
+        changeFeed.record(userId, UserChangeType.PROFILE_PICTURE_CHANGED);
+
+        // The old file is removed after commit, so a rollback never leaves the user without an image
+        userEventBus.profilePictureChanged(userId, fileUrl, previousProfileImage);
     }
 
     private User findUserById(Long userId) {
@@ -227,9 +366,52 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
+    private User saveUniqueEmail(User user, String duplicateMessage) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw new BadRequestException(duplicateMessage);
+            }
+            throw e;
+        }
+    }
+
+    // The directory keeps emails unique across shards; a claim is undone if the transaction rolls back
+    private void claimEmail(String email, String previousEmail, String duplicateMessage) {
+        if (email == null || email.equals(previousEmail)) {
+            return;
+        }
+        if (!shardDirectory.reserve(email, ShardContext.currentShard())) {
+            throw new BadRequestException(duplicateMessage);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                shardDirectory.release(status == STATUS_COMMITTED ? previousEmail : email);
+            }
+        });
+    }
+
+    private UserAccount findAccountById(Long userId) {
+        return userRepository.findAccountById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    private void recordWrite(User user) {
+        readYourWrites.recordWrite(user.getUserId());
+        readYourWrites.recordWrite(user.getEmail());
+    }
+
+    private void recordWrite(UserAccount account) {
+        readYourWrites.recordWrite(account.userId());
+        readYourWrites.recordWrite(account.email());
+    }
+
     @Override
     @Transactional
-    public void initiatePasswordReset(String email) {
+    public void initiatePasswordReset(@ShardKey(ShardKey.Source.EMAIL) String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
 
@@ -239,9 +421,11 @@ public class UserServiceImpl implements UserService {
         // Create new reset token
         PasswordResetToken resetToken = new PasswordResetToken();
         resetToken.setUser(user);
-        resetToken.setToken(UUID.randomUUID().toString());
+        resetToken.setToken(shardRouter.newToken());
         passwordResetTokenRepository.save(resetToken);
 
+        // The mail cannot be recalled, so from here a bulkhead timeout no longer cancels the request
+        BulkheadTask.commitPoint();
         try {
             emailService.sendPasswordResetEmail(
                     user.getEmail(),
@@ -256,34 +440,29 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
-    public void resetPassword(String token, String newPassword) {
-        PasswordResetToken resetToken = passwordResetTokenRepository.findByToken(token)
+    public void resetPassword(@ShardKey(ShardKey.Source.TOKEN) String token, String newPassword) {
+        UserAccount account = passwordResetTokenRepository.findAccountByToken(token)
                 .orElseThrow(() -> new BadRequestException("Invalid reset token"));
 
-        if (resetToken.isUsed() || resetToken.isExpired()) {
+        String passwordHash = passwordEncoder.encode(newPassword);
+        LocalDateTime now = LocalDateTime.now();
+        if (passwordResetTokenRepository.markUsed(token, now) == 0) {
             throw new BadRequestException("Token is invalid or expired");
         }
-
-        User user = resetToken.getUser();
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
-
-        resetToken.setUsed(true);
-        passwordResetTokenRepository.save(resetToken);
-
-        try {
-            emailService.sendPasswordChangeNotification(user.getEmail(), user.getFirstName());
-        } catch (MessagingException e) {
-            log.error("Failed to send password change notification", e);
+        if (userRepository.updatePasswordHash(account.userId(), passwordHash, account.version(), now) == 0) {
+            throw new ConflictException("User was modified concurrently, please retry");
         }
+        recordWrite(account);
+        changeFeed.record(account.userId(), UserChangeType.PASSWORD_CHANGED);
+        userEventBus.passwordChanged(account.userId(), account.email(), account.firstName());
     }
 
     @Override
     @Transactional
-    public void changePassword(Long userId, ChangePasswordRequest request) {
-        User user = findUserById(userId);
+    public void changePassword(@ShardKey Long userId, ChangePasswordRequest request) {
+        UserAccount account = findAccountById(userId);
 
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPasswordHash())) {
+        if (!passwordEncoder.matches(request.getCurrentPassword(), account.passwordHash())) {
             throw new BadRequestException("Current password is incorrect");
         }
 
@@ -291,14 +470,13 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("New password and confirm password do not match");
         }
 
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
-
-        try {
-            emailService.sendPasswordChangeNotification(user.getEmail(), user.getFirstName());
-        } catch (MessagingException e) {
-            log.error("Failed to send password change notification", e);
+        String passwordHash = passwordEncoder.encode(request.getNewPassword());
+        if (userRepository.updatePasswordHash(userId, passwordHash, account.version(), LocalDateTime.now()) == 0) {
+            throw new ConflictException("Password was changed concurrently, please retry");
         }
+        recordWrite(account);
+        changeFeed.record(userId, UserChangeType.PASSWORD_CHANGED);
+        userEventBus.passwordChanged(userId, account.email(), account.firstName());
     }
 
     private UserResponse mapToUserResponse(User user) {
@@ -312,6 +490,25 @@ public class UserServiceImpl implements UserService {
         response.setStatus(user.getStatus().name());
         response.setEmailVerified(user.isEmailVerified());
         response.setCreatedAt(user.getCreatedAt());
+        response.setUpdatedAt(user.getUpdatedAt());
+        response.setVersion(user.getVersion());
+        return response;
+    }
+
+    private UserResponse mapToUserResponse(ArchivedUser user) {
+        UserResponse response = new UserResponse();
+        response.setUserId(user.getUserId());
+        response.setEmail(user.getEmail());
+        response.setFirstName(user.getFirstName());
+        response.setLastName(user.getLastName());
+        response.setPhone(user.getPhone());
+        response.setProfileImage(user.getProfileImage());
+        response.setStatus(user.getStatus().name());
+        response.setEmailVerified(user.isEmailVerified());
+        response.setCreatedAt(user.getCreatedAt());
+        response.setUpdatedAt(user.getUpdatedAt());
+        response.setVersion(user.getVersion());
+        response.setArchived(true);
         return response;
     }
 }
@@ -0,0 +1,152 @@
+-- Schema as of the first migration. Databases that Hibernate created with ddl-auto=update
+-- are baselined at this version instead (spring.flyway.baseline-on-migrate), so this only
+-- runs against empty schemas. Later schema changes go in V2__..., V3__... and so on.
+
+CREATE TABLE users (
+    user_id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    profile_image VARCHAR(255),
+    status ENUM ('ACTIVE','INACTIVE','SUSPENDED') NOT NULL,
+    is_email_verified BIT NOT NULL,
+    version BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE verification_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token VARCHAR(255),
+    user_id BIGINT,
+    expiry_date DATETIME(6),
+    used BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKdqp95ggn6gvm865km5muba2o5 UNIQUE (user_id),
+    CONSTRAINT FK54y8mqsnq1rtyf581sfmrbp4f FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE password_reset_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token VARCHAR(255),
+    user_id BIGINT,
+    expiry_date DATETIME(6),
+    used BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK71lqwbwtklmljk3qlsugr1mig UNIQUE (token),
+    CONSTRAINT UKla2ts67g4oh2sreayswhox1i6 UNIQUE (user_id),
+    CONSTRAINT FKk3ndxg5xp6v7wd4gjyusp15gq FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE users_archive (
+    user_id BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    profile_image VARCHAR(255),
+    status ENUM ('ACTIVE','INACTIVE','SUSPENDED') NOT NULL,
+    is_email_verified BIT NOT NULL,
+    version BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id),
+    INDEX idx_users_archive_email (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE verification_tokens_archive (
+    id BIGINT NOT NULL,
+    token VARCHAR(255),
+    user_id BIGINT NOT NULL,
+    expiry_date DATETIME(6),
+    used BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_verification_tokens_archive_user_id (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE password_reset_tokens_archive (
+    id BIGINT NOT NULL,
+    token VARCHAR(255),
+    user_id BIGINT NOT NULL,
+    expiry_date DATETIME(6),
+    used BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_password_reset_tokens_archive_user_id (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE user_changes (
+    seq BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    change_type ENUM ('ARCHIVED','CREATED','DEACTIVATED','EMAIL_VERIFIED','PASSWORD_CHANGED',
+        'PROFILE_PICTURE_CHANGED','STATUS_CHANGED','UPDATED') NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (seq),
+    INDEX idx_user_changes_user_id (user_id),
+    INDEX idx_user_changes_changed_at (changed_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE user_stats_rollup (
+    signup_date DATE NOT NULL,
+    status ENUM ('ACTIVE','INACTIVE','SUSPENDED') NOT NULL,
+    email_verified BIT NOT NULL,
+    user_count BIGINT NOT NULL,
+    PRIMARY KEY (email_verified, signup_date, status)
+) ENGINE=InnoDB;
+
+CREATE TABLE pending_notifications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    type ENUM ('PASSWORD_CHANGE','STATUS_CHANGE') NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    initial_status VARCHAR(255),
+    status VARCHAR(255),
+    merged_count INTEGER NOT NULL,
+    due_at_millis BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_pending_notifications_user_type UNIQUE (user_id, type)
+) ENGINE=InnoDB;
+
+CREATE TABLE email_campaigns (
+    campaign_id BIGINT NOT NULL AUTO_INCREMENT,
+    template ENUM ('WELCOME') NOT NULL,
+    status ENUM ('COMPLETED','DRAFT','FAILED','PAUSED','RUNNING') NOT NULL,
+    search_term VARCHAR(255),
+    user_status ENUM ('ACTIVE','INACTIVE','SUSPENDED'),
+    created_from DATETIME(6),
+    created_to DATETIME(6),
+    last_user_id BIGINT NOT NULL,
+    sent_count BIGINT NOT NULL,
+    failed_count BIGINT NOT NULL,
+    last_error VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    started_at DATETIME(6),
+    checkpoint_at DATETIME(6),
+    completed_at DATETIME(6),
+    PRIMARY KEY (campaign_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE idempotency_keys (
+    record_key VARCHAR(64) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INTEGER NOT NULL,
+    content_type VARCHAR(255),
+    body LONGBLOB,
+    error_message VARCHAR(1000),
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (record_key),
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+) ENGINE=InnoDB;
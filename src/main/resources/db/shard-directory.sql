@@ -0,0 +1,7 @@
+-- Email -> shard directory, kept on spring.datasource when app.sharding.enabled is set.
+-- Hibernate manages the shards only, so this table is created here.
+CREATE TABLE IF NOT EXISTS user_shard_directory (
+    email VARCHAR(255) NOT NULL PRIMARY KEY,
+    shard_id INT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
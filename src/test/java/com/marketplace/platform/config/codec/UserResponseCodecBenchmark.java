@@ -0,0 +1,120 @@
+package com.marketplace.platform.config.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.marketplace.platform.dto.response.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares payload size and per-thread CPU time of JSON, CBOR and Smile for a
+ * single UserResponse and for a page of 50, plus the cached CBOR path.
+ *
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.marketplace.platform.config.codec.UserResponseCodecBenchmark
+ */
+public class UserResponseCodecBenchmark {
+    private static final int WARMUP = 100_000;
+    private static final int ITERATIONS = 200_000;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        UserResponse user = user(42);
+        List<UserResponse> page = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            page.add(user(i));
+        }
+
+        System.out.printf("%-22s %10s %14s %14s%n", "format", "bytes", "encode ns/op", "decode ns/op");
+        for (String name : List.of("json", "cbor", "smile")) {
+            ObjectMapper mapper = switch (name) {
+                case "cbor" -> cbor;
+                case "smile" -> smile;
+                default -> json;
+            };
+            report(name + " user", mapper.writerFor(UserResponse.class), mapper.readerFor(UserResponse.class), user, 1);
+            report(name + " page(50)", mapper.writerFor(mapper.getTypeFactory()
+                            .constructCollectionType(List.class, UserResponse.class)),
+                    mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, UserResponse.class)),
+                    page, 50);
+        }
+
+        // Whole converter write, as the controller does it
+        MappingJackson2CborHttpMessageConverter plain = new MappingJackson2CborHttpMessageConverter(cbor);
+        CachingUserResponseConverter cached =
+                new CachingUserResponseConverter(cbor, smile, 10_000, new SimpleMeterRegistry());
+        System.out.printf("%-22s %10s %14d %14s%n", "cbor write (plain)", "-", measureWrite(plain, user), "-");
+        System.out.printf("%-22s %10s %14d %14s%n", "cbor write (cached)", "-", measureWrite(cached, user), "-");
+    }
+
+    private static <T> long measureWrite(HttpMessageConverter<T> converter, T user) throws Exception {
+        return measure(() -> {
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+            converter.write(user, MediaType.APPLICATION_CBOR, output);
+            return output.getBodyAsBytes().length;
+        });
+    }
+
+    private static void report(String name, ObjectWriter writer, ObjectReader reader, Object value, int divisor)
+            throws Exception {
+        byte[] bytes = writer.writeValueAsBytes(value);
+        long encode = measure(() -> writer.writeValueAsBytes(value).length) / divisor;
+        long decode = measure(() -> reader.readValue(bytes) != null ? 1 : 0) / divisor;
+        System.out.printf("%-22s %10d %14d %14d%n", name, bytes.length / divisor, encode, decode);
+    }
+
+    // CPU time of the current thread per operation, after a warmup round
+    private static long measure(Operation operation) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += operation.run();
+        }
+        long start = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        long elapsed = THREADS.getCurrentThreadCpuTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed / ITERATIONS;
+    }
+
+    private static UserResponse user(long userId) {
+        UserResponse user = new UserResponse();
+        user.setUserId(userId);
+        user.setEmail("user" + userId + "@example.com");
+        user.setFirstName("Firstname" + userId);
+        user.setLastName("Lastname");
+        user.setPhone("+94771234567");
+        user.setProfileImage("/uploads/" + userId + ".jpg");
+        user.setStatus("ACTIVE");
+        user.setEmailVerified(true);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        user.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 8, 0));
+        user.setVersion(3);
+        return user;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        int run() throws Exception;
+    }
+}
@@ -0,0 +1,90 @@
+package com.marketplace.platform.config.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    private DriverManagerDataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), 1);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setReadYourWritesWindow(Duration.ofMinutes(1));
+        tracker = new ReadYourWritesTracker(properties);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(inReadOnlyTransaction(this::currentNode)).isEqualTo("replica");
+        assertThat(inWriteTransaction(this::currentNode)).isEqualTo("primary");
+    }
+
+    @Test
+    void recentWritesAreReadFromPrimary() {
+        tracker.recordWrite(42L);
+
+        assertThat(inReadOnlyTransaction(() -> tracker.readAfterWrite(42L, this::currentNode))).isEqualTo("primary");
+        assertThat(inReadOnlyTransaction(() -> tracker.readAfterWrite(7L, this::currentNode))).isEqualTo("replica");
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimary() {
+        replica.setUrl("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        routingDataSource.checkHealth();
+
+        assertThat(routingDataSource.healthyReplicaCount()).isZero();
+        assertThat(inReadOnlyTransaction(this::currentNode)).isEqualTo("primary");
+    }
+
+    private String inReadOnlyTransaction(Supplier<String> work) {
+        return readOnlyTransaction.execute(status -> work.get());
+    }
+
+    private String inWriteTransaction(Supplier<String> work) {
+        return writeTransaction.execute(status -> work.get());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DriverManagerDataSource embeddedDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,171 @@
+package com.marketplace.platform.config.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardRoutingDataSourceTests {
+    private static final int SHARDS = 3;
+
+    private final List<DataSource> shards = new ArrayList<>();
+    private ShardRouter shardRouter;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(embeddedShard(i));
+            properties.getShards().add(new ShardingProperties.Shard());
+        }
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(shards);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        shardRouter = new ShardRouter(properties, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+    }
+
+    @Test
+    void generatedIdsMapBackToTheirShard() {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            for (int i = 0; i < 4; i++) {
+                String email = "user" + i + "@shard" + shard + ".test";
+                long userId = shardRouter.onShard(shard, () -> insertUser(email));
+
+                assertThat(shardRouter.shardForUserId(userId)).isEqualTo(shard);
+                assertThat(shardRouter.groupByShard(List.of(userId))).containsOnlyKeys(shard);
+            }
+            assertThat(countOn(shard)).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void tokensCarryTheShardTheyWereIssuedOn() {
+        String token = shardRouter.onShard(2, shardRouter::newToken);
+
+        assertThat(shardRouter.shardForToken(token)).isEqualTo(2);
+        assertThat(shardRouter.shardForToken("not-a-sharded-token")).isEqualTo(ShardRouter.DEFAULT_SHARD);
+    }
+
+    @Test
+    void directoryKeepsEmailsUniqueAcrossShards() {
+        DriverManagerDataSource directoryDatabase = embeddedDatabase("directory");
+        new ResourceDatabasePopulator(new ClassPathResource("db/shard-directory.sql")).execute(directoryDatabase);
+        ShardDirectory directory = new JdbcShardDirectory(directoryDatabase);
+
+        assertThat(directory.reserve("taken@example.com", 1)).isTrue();
+        assertThat(directory.reserve("taken@example.com", 2)).isFalse();
+        assertThat(directory.findShard("taken@example.com")).hasValue(1);
+
+        directory.release("taken@example.com");
+        assertThat(directory.findShard("taken@example.com")).isEmpty();
+        assertThat(directory.reserve("taken@example.com", 2)).isTrue();
+    }
+
+    @Test
+    void scatterGatherMergesSortedPages() {
+        String[][] emails = {
+                {"b@example.com", "f@example.com", "k@example.com"},
+                {"a@example.com", "e@example.com", "h@example.com", "j@example.com"},
+                {"c@example.com", "d@example.com", "g@example.com", "i@example.com"}
+        };
+        for (int shard = 0; shard < SHARDS; shard++) {
+            for (String email : emails[shard]) {
+                shardRouter.onShard(shard, () -> insertUser(email));
+            }
+        }
+
+        Pageable pageable = PageRequest.of(1, 4, Sort.by("email"));
+        Pageable shardPageable = ShardedPages.shardPageable(pageable);
+        List<Page<Row>> pages = shardRouter.scatter(shard -> findPage(shardPageable));
+        Page<Row> page = ShardedPages.merge(pages, pageable);
+
+        assertThat(page.getContent()).extracting(Row::getEmail)
+                .containsExactly("e@example.com", "f@example.com", "g@example.com", "h@example.com");
+        assertThat(page.getTotalElements()).isEqualTo(11);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    private long insertUser(String email) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO users (email) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, email);
+            return statement;
+        }, keyHolder));
+        return keyHolder.getKey().longValue();
+    }
+
+    private Page<Row> findPage(Pageable pageable) {
+        List<Row> rows = jdbcTemplate.query("SELECT user_id, email FROM users ORDER BY email LIMIT ? OFFSET ?",
+                (resultSet, rowNum) -> new Row(resultSet.getLong("user_id"), resultSet.getString("email")),
+                pageable.getPageSize(), pageable.getOffset());
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    private int countOn(int shard) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+    }
+
+    // Mirrors the interleaved AUTO_INCREMENT settings used on MySQL shards
+    private static DriverManagerDataSource embeddedShard(int shard) {
+        DriverManagerDataSource dataSource = embeddedDatabase("shard" + shard);
+        new JdbcTemplate(dataSource).execute("CREATE TABLE users ("
+                + "user_id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH " + (shard + 1)
+                + " INCREMENT BY " + SHARDS + ") PRIMARY KEY, email VARCHAR(255) NOT NULL UNIQUE)");
+        return dataSource;
+    }
+
+    private static DriverManagerDataSource embeddedDatabase(String name) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    public static class Row {
+        private final long userId;
+        private final String email;
+
+        Row(long userId, String email) {
+            this.userId = userId;
+            this.email = email;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.marketplace.platform.service.search;
+
+import com.marketplace.platform.config.UserIndexProperties;
+import com.marketplace.platform.config.shard.ShardRouter;
+import com.marketplace.platform.config.shard.ShardingProperties;
+import com.marketplace.platform.domain.user.UserStatus;
+import com.marketplace.platform.repository.user.UserIndexRow;
+import com.marketplace.platform.repository.user.UserRepository;
+import com.marketplace.platform.service.event.UserEvent;
+import com.marketplace.platform.service.event.UserEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserPrefixIndexTests {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserIndexProperties properties = new UserIndexProperties();
+    private ShardRouter shardRouter;
+    private UserPrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        shardRouter = new ShardRouter(new ShardingProperties(), transactionManager);
+        when(userRepository.findIndexRowsAfter(anyLong(), any(Limit.class))).thenReturn(List.of(
+                new UserIndexRow(1L, "Bob", "Stone", "bob@example.com"),
+                new UserIndexRow(3L, "Bobby", "Reed", "bobby@example.com"),
+                new UserIndexRow(5L, "Alice", "Bobson", "alice@example.com")));
+        index = new UserPrefixIndex(userRepository, new TransactionTemplate(transactionManager), properties,
+                shardRouter, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+    }
+
+    @Test
+    void newUsersAreMergedWithLoadedUsersInTermOrder() throws InterruptedException {
+        load();
+        index.onEvent(event(UserEventType.USER_REGISTERED, 7L, "Boba", "Fett", UserStatus.ACTIVE), 0, true);
+
+        // bob (1), boba (7), bobby (3), bobson (5)
+        assertThat(index.search("bob", 10)).containsExactly(1L, 7L, 3L, 5L);
+        assertThat(index.search("bob", 2)).containsExactly(1L, 7L);
+    }
+
+    @Test
+    void deactivatedAndArchivedUsersAreDropped() throws InterruptedException {
+        load();
+        index.onEvent(event(UserEventType.USER_REGISTERED, 7L, "Boba", "Fett", UserStatus.ACTIVE), 0, true);
+        index.onEvent(event(UserEventType.USER_DEACTIVATED, 1L, null, null, UserStatus.INACTIVE), 1, true);
+        index.onEvent(event(UserEventType.USER_ARCHIVED, 7L, null, null, UserStatus.INACTIVE), 2, true);
+
+        assertThat(index.search("bob", 10)).containsExactly(3L, 5L);
+    }
+
+    @Test
+    void reactivatedUsersAreIndexedAgain() throws InterruptedException {
+        load();
+        index.onEvent(event(UserEventType.STATUS_CHANGED, 1L, "Bob", "Stone", UserStatus.INACTIVE), 0, true);
+        assertThat(index.search("stone", 10)).isEmpty();
+
+        index.onEvent(event(UserEventType.STATUS_CHANGED, 1L, "Bob", "Stone", UserStatus.ACTIVE), 1, true);
+        assertThat(index.search("stone", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void compactionKeepsAdditionsAndRemovals() throws InterruptedException {
+        properties.setCompactThreshold(0);
+        load();
+        index.onEvent(event(UserEventType.USER_REGISTERED, 7L, "Boba", "Fett", UserStatus.ACTIVE), 0, true);
+        index.onEvent(event(UserEventType.USER_UPDATED, 3L, "Robert", "Reed", UserStatus.ACTIVE), 1, true);
+        index.onEvent(event(UserEventType.USER_DEACTIVATED, 5L, null, null, UserStatus.INACTIVE), 2, true);
+
+        assertThat(index.search("bob", 10)).containsExactly(1L, 7L);
+        assertThat(index.search("rob", 10)).containsExactly(3L);
+    }
+
+    private void load() throws InterruptedException {
+        index.build();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (index.search("alice", 1).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(index.search("alice", 1)).containsExactly(5L);
+    }
+
+    private static UserEvent event(UserEventType type, Long userId, String firstName, String lastName,
+                                   UserStatus status) {
+        UserEvent event = mock(UserEvent.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getUserId()).thenReturn(userId);
+        when(event.getFirstName()).thenReturn(firstName);
+        when(event.getLastName()).thenReturn(lastName);
+        when(event.getEmail()).thenReturn(firstName != null ? firstName.toLowerCase() + "@example.com" : null);
+        when(event.getStatus()).thenReturn(status);
+        return event;
+    }
+}
@@ -0,0 +1,81 @@
+package com.marketplace.platform.service.user;
+
+import com.marketplace.platform.dto.request.UserRegistrationRequest;
+import com.marketplace.platform.exception.BadRequestException;
+import com.marketplace.platform.repository.user.UserRepository;
+import com.marketplace.platform.service.email.EmailService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRegistrationConcurrencyTests {
+    private static final int SIGNUPS = 2000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void duplicateSignupsCreateExactlyOneUser() throws Exception {
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < SIGNUPS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    userService.registerUser(registration("race@example.com"));
+                    created.incrementAndGet();
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(created).hasValue(1);
+        assertThat(rejected).hasValue(SIGNUPS - 1);
+        assertThat(userRepository.findByEmail("race@example.com")).isPresent();
+    }
+
+    private static UserRegistrationRequest registration(String email) {
+        UserRegistrationRequest request = new UserRegistrationRequest();
+        request.setEmail(email);
+        request.setPassword("password123");
+        request.setFirstName("Race");
+        request.setLastName("Condition");
+        return request;
+    }
+}